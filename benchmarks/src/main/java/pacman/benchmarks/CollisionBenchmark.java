@@ -0,0 +1,55 @@
+package pacman.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import pacman.entities.Entity;
+import pacman.entities.MovingEntity;
+import pacman.game.GameSession;
+import pacman.ghosts.Ghost;
+import pacman.helpers.EntityCollisionDetector;
+import pacman.helpers.WallCollisionDetector;
+
+/**
+ * Benchmarks of the wall and entity collision queries, made by the moving entities of a mid-game session.
+ * Every call cycles through the moving entities and the four directions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    private static final int[] DIRECTION_X = { 2, -2, 0, 0 };
+    private static final int[] DIRECTION_Y = { 0, 0, -2, 2 };
+
+    private MovingEntity[] movingEntities;
+    private WallCollisionDetector wallCollisionDetector;
+    private EntityCollisionDetector entityCollisionDetector;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameSession session = MidGame.create(1);
+        List<Entity> entities = session.getGameEntities();
+        movingEntities = entities.stream().filter(MovingEntity.class::isInstance).toArray(MovingEntity[]::new);
+        wallCollisionDetector = session.getWallCollisionDetector();
+        entityCollisionDetector = new EntityCollisionDetector(session);
+    }
+
+    @Benchmark
+    public boolean wallIsCollision() {
+        int i = index++;
+        MovingEntity entity = movingEntities[(i >>> 2) % movingEntities.length];
+        return wallCollisionDetector.isCollision(entity, DIRECTION_X[i & 3], DIRECTION_Y[i & 3]);
+    }
+
+    @Benchmark
+    public Entity entityCheckCollision() {
+        MovingEntity entity = movingEntities[index++ % movingEntities.length];
+        return entityCollisionDetector.checkCollision(entity, Ghost.class);
+    }
+}
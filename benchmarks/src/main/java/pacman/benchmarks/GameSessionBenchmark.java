@@ -0,0 +1,73 @@
+package pacman.benchmarks;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import pacman.game.GameSession;
+import pacman.game.MazeLayer;
+import pacman.helpers.GameRandom;
+import pacman.helpers.SpriteAtlas;
+import pacman.simulation.RandomInput;
+
+/**
+ * Benchmarks of a whole tick of the simulation and of the drawing of the entities.
+ * The session is rebuilt at every iteration and keeps playing with random input during the iteration.
+ * The game over check of {@link GameSession#step(int)} is skipped, so a lost game keeps being simulated
+ * instead of turning the benchmark into a no-op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameSessionBenchmark {
+    private GameSession session;
+    private RandomInput input;
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private MazeLayer mazeLayer;
+
+    @Setup(Level.Trial)
+    public void setupImage() {
+        pacman.game.Level level = MidGame.getLevel();
+        image = new BufferedImage(level.getWorldWidth(), level.getWorldHeight(), BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        mazeLayer = new MazeLayer(SpriteAtlas.getImage("background.png"), level.getWorldWidth(),
+                level.getWorldHeight());
+    }
+
+    @Setup(Level.Iteration)
+    public void setupSession() {
+        session = MidGame.create(1);
+        input = new RandomInput(new GameRandom(session.getSeed()));
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeImage() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public void refreshEntities() {
+        // Pacman needs some input after a respawn, otherwise the ghosts wait for it
+        session.getPacmanEntity().handleInput(input.nextInput(session));
+        session.refreshEntities();
+    }
+
+    @Benchmark
+    public BufferedImage drawEntities() {
+        session.drawEntities(graphics);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage drawFrame() {
+        mazeLayer.render(graphics, session.getPelletField());
+        session.drawEntities(graphics);
+        return image;
+    }
+}
@@ -0,0 +1,90 @@
+package pacman.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import pacman.game.GameSession;
+import pacman.ghosts.Ghost;
+import pacman.helpers.GameRandom;
+import pacman.simulation.RandomInput;
+
+/**
+ * Benchmark of the direction decision of every ghost state.
+ * The ghost positions and speeds met while playing a mid-game session are replayed one per call,
+ * so both corridor tiles and junctions are measured in their real proportions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GhostStateBenchmark {
+    // Number of ghost positions recorded for the benchmark
+    private static final int SAMPLE_COUNT = 1024;
+    private static final int SAMPLE_FIELDS = 5;
+
+    @Param({ "chase", "scatter", "frightened", "eaten", "house" })
+    public String state;
+
+    private Ghost ghost;
+
+    // Ghost position, speed and direction of every sample
+    private int[] samples;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameSession session = MidGame.create(1);
+        RandomInput input = new RandomInput(new GameRandom(session.getSeed()));
+        List<int[]> recorded = new ArrayList<>();
+        while (recorded.size() < SAMPLE_COUNT && !session.isGameOver()) {
+            session.step(input.nextInput(session));
+            for (Ghost current : session.getGhostEntities()) {
+                if (current.isOnGrid()) {
+                    recorded.add(new int[] { current.getxPos(), current.getyPos(), current.getxSpeed(),
+                            current.getySpeed(), current.getDirection() });
+                }
+            }
+        }
+        samples = new int[recorded.size() * SAMPLE_FIELDS];
+        for (int i = 0; i < recorded.size(); i++) {
+            System.arraycopy(recorded.get(i), 0, samples, i * SAMPLE_FIELDS, SAMPLE_FIELDS);
+        }
+
+        ghost = session.getRedGhostEntity();
+        switch (state) {
+            case "chase":
+                ghost.switchChaseMode();
+                break;
+            case "scatter":
+                ghost.switchScatterMode();
+                break;
+            case "frightened":
+                ghost.switchFrightenedMode();
+                break;
+            case "eaten":
+                ghost.switchEatenMode();
+                break;
+            case "house":
+                ghost.switchHouseMode();
+                break;
+        }
+    }
+
+    @Benchmark
+    public int computeNextDirection() {
+        int offset = index * SAMPLE_FIELDS;
+        index = (index + 1) % (samples.length / SAMPLE_FIELDS);
+        ghost.setxPos(samples[offset]);
+        ghost.setyPos(samples[offset + 1]);
+        ghost.setxSpeed(samples[offset + 2]);
+        ghost.setySpeed(samples[offset + 3]);
+        ghost.setDirection(samples[offset + 4]);
+        ghost.getState().computeNextDirection();
+        return ghost.getxSpeed() * 31 + ghost.getySpeed();
+    }
+}
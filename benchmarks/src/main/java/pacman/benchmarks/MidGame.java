@@ -0,0 +1,52 @@
+package pacman.benchmarks;
+
+import pacman.game.GameSession;
+import pacman.game.Level;
+import pacman.helpers.GameRandom;
+import pacman.simulation.RandomInput;
+
+/**
+ * Class building the realistic mid-game sessions the benchmarks run on.
+ * A session is played from the default level with seeded random input until some Pac-Gums are eaten
+ * and the ghosts have left their house, so every benchmark starts from the same reproducible state.
+ */
+public final class MidGame {
+    // Number of ticks played before a session is handed to a benchmark
+    public static final int MID_GAME_TICKS = 600;
+
+    private static Level level;
+
+    private MidGame() {}
+
+    /**
+     * Get the default level, loaded once per benchmark JVM.
+     *
+     * @return The default level.
+     */
+    public static synchronized Level getLevel() {
+        if (level == null) {
+            level = Level.load(Level.DEFAULT_LEVEL_PATH);
+        }
+        return level;
+    }
+
+    /**
+     * Create a mid-game session. Seeds losing the game too early are skipped.
+     *
+     * @param seed The first seed to try.
+     * @return A session that has been played for MID_GAME_TICKS ticks.
+     */
+    public static GameSession create(long seed) {
+        for (long current = seed; ; current++) {
+            GameSession session = new GameSession(getLevel(), current);
+            RandomInput input = new RandomInput(new GameRandom(current));
+            session.setFirstUserInput(true);
+            while (!session.isGameOver() && session.getTickCount() < MID_GAME_TICKS) {
+                session.step(input.nextInput(session));
+            }
+            if (!session.isGameOver()) {
+                return session;
+            }
+        }
+    }
+}
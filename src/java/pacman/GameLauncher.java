@@ -3,7 +3,10 @@ package pacman;
 import javax.swing.*;
 
 import pacman.game.GameplayPanel;
+import pacman.game.Level;
 import pacman.game.UIPanel;
+import pacman.replay.InputRecording;
+import pacman.simulation.Autopilot;
 
 import java.io.IOException;
 
@@ -11,10 +14,21 @@ import java.io.IOException;
  * Class to launch the Pacman game.
  */
 public class GameLauncher {
+    // Default size of the game view, the size of the default maze
+    private static final int VIEW_WIDTH = 448;
+    private static final int VIEW_HEIGHT = 496;
+
     private static UIPanel panelUI;
 
     /**
      * Main method to launch the game.
+     * Options: --record <file> to record the player input of every game, --replay <file> to replay a recording,
+     * --buffers <2|3> to choose double or triple buffering, --vsync to pace frames on the display,
+     * --profile <file> to write the frame timings to a CSV file every second (F3 shows them in game),
+     * --catch-up <n> to set the largest number of updates run before a frame when the game falls behind,
+     * --autopilot <microseconds> to let the autopilot play with a search budget per tick, on
+     * --autopilot-threads <n> threads, --level <file> to play a compiled or CSV level instead of the default one,
+     * --view <width>x<height> to set the size of the game view, the camera follows Pacman in larger levels.
      *
      * @param args Command line arguments.
      */
@@ -25,14 +39,70 @@ public class GameLauncher {
 
         JPanel panelGameWindow = new JPanel();
 
+        // The UI panel is as tall as the game view
+        int panelUIHeight = VIEW_HEIGHT;
         try {
-            GameplayPanel gameplayPanel = new GameplayPanel(448, 496);
+            // The level and the size of the view are needed to create the gameplay panel
+            String levelPath = Level.DEFAULT_LEVEL_PATH;
+            int viewWidth = VIEW_WIDTH;
+            int viewHeight = VIEW_HEIGHT;
+            for (int i = 0; i + 1 < args.length; i++) {
+                if (args[i].equals("--level")) {
+                    levelPath = args[++i];
+                } else if (args[i].equals("--view")) {
+                    String view = args[++i];
+                    if (!view.matches("[1-9][0-9]{0,4}x[1-9][0-9]{0,4}")) {
+                        System.err.println("Usage: --view <width>x<height>, in pixels, such as 448x496");
+                        System.exit(1);
+                    }
+                    String[] size = view.split("x");
+                    viewWidth = Integer.parseInt(size[0]);
+                    viewHeight = Integer.parseInt(size[1]);
+                }
+            }
+            Level level = Level.load(levelPath);
+            // A view larger than the world shrinks to it, a smaller one scrolls
+            GameplayPanel gameplayPanel = new GameplayPanel(Math.min(viewWidth, level.getWorldWidth()),
+                    Math.min(viewHeight, level.getWorldHeight()));
+            gameplayPanel.setLevel(level);
+            panelUIHeight = gameplayPanel.getPreferredSize().height;
+            int autopilotBudget = 0;
+            int autopilotThreads = Autopilot.getDefaultThreadCount();
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--vsync")) {
+                    gameplayPanel.setVsync(true);
+                } else if (i + 1 < args.length && args[i].equals("--record")) {
+                    gameplayPanel.setRecordPath(args[++i]);
+                } else if (i + 1 < args.length && args[i].equals("--replay")) {
+                    gameplayPanel.setReplay(InputRecording.load(args[++i]));
+                } else if (i + 1 < args.length && args[i].equals("--buffers")) {
+                    String bufferCount = args[++i];
+                    if (!bufferCount.equals("2") && !bufferCount.equals("3")) {
+                        System.err.println("Usage: --buffers <2|3>, 2 for double buffering, 3 for triple buffering");
+                        System.exit(1);
+                    }
+                    gameplayPanel.setBufferCount(Integer.parseInt(bufferCount));
+                } else if (i + 1 < args.length && args[i].equals("--profile")) {
+                    gameplayPanel.setProfileCsvPath(args[++i]);
+                } else if (i + 1 < args.length && args[i].equals("--catch-up")) {
+                    gameplayPanel.setMaxCatchUpUpdates(Integer.parseInt(args[++i]));
+                } else if (i + 1 < args.length && args[i].equals("--autopilot")) {
+                    autopilotBudget = Integer.parseInt(args[++i]);
+                } else if (i + 1 < args.length && args[i].equals("--autopilot-threads")) {
+                    autopilotThreads = Integer.parseInt(args[++i]);
+                } else if (i + 1 < args.length && (args[i].equals("--level") || args[i].equals("--view"))) {
+                    i++;
+                }
+            }
+            if (autopilotBudget > 0) {
+                gameplayPanel.setAutopilot(autopilotBudget, autopilotThreads);
+            }
             panelGameWindow.add(gameplayPanel);
         } catch (IOException ioException) {
             ioException.printStackTrace();
         }
 
-        panelUI = new UIPanel(256, 496);
+        panelUI = new UIPanel(256, panelUIHeight);
         panelGameWindow.add(panelUI);
 
         gameFrame.setContentPane(panelGameWindow);
@@ -4,53 +4,27 @@ import java.awt.*;
 
 /**
  * Abstract class representing a generic game entity.
+ * The state of the entity is held by a row of an {@link EntityStore}, the entity is a view over it.
  */
-public abstract class Entity implements Cloneable {
-    // Size of the entity
-    protected int size;
-
-    // X position of the entity
-    protected int xPos;
-
-    // Y position of the entity
-    protected int yPos;
-
-    // Flag to check if the entity is destroyed
-    protected boolean destroyed = false;
+public abstract class Entity {
+    // Store holding the components of the entity, and the row of the entity in it
+    protected final EntityStore store;
+    protected int id;
 
     /**
-     * Constructor to initialize an entity.
+     * Constructor to initialize an entity, adding its row to the store.
      *
+     * @param store The store holding the components of the entity.
+     * @param flags The {@link EntityStore} flags of the entity.
      * @param size Size of the entity.
      * @param xPos X position of the entity.
      * @param yPos Y position of the entity.
      */
-    public Entity(int size, int xPos, int yPos) {
-        this.size = size;
-        this.xPos = xPos;
-        this.yPos = yPos;
+    public Entity(EntityStore store, int flags, int size, int xPos, int yPos) {
+        this.store = store;
+        this.id = store.add(this, flags, size, xPos, yPos);
     }
 
-    /**
-     * Method to clone the entity.
-     *
-     * @return A clone of the entity.
-     */
-    public Entity clone() {
-        Entity clone = null;
-        try {
-            clone = (Entity) super.clone();
-        } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
-        }
-        return clone;
-    }
-
-    /**
-     * Method to refresh the entity state.
-     */
-    public void refresh() {}
-
     /**
      * Method to render the entity.
      *
@@ -62,9 +36,9 @@ public abstract class Entity implements Cloneable {
      * Method to destroy the entity.
      */
     public void destroy() {
-        this.xPos = -32;
-        this.yPos = -32;
-        destroyed = true;
+        store.getX()[id] = -32;
+        store.getY()[id] = -32;
+        store.setFlags(id, EntityStore.DESTROYED, true);
     }
 
     /**
@@ -73,7 +47,34 @@ public abstract class Entity implements Cloneable {
      * @return True if the entity is destroyed, false otherwise.
      */
     public boolean isDestroyed() {
-        return destroyed;
+        return store.hasFlags(id, EntityStore.DESTROYED);
+    }
+
+    /**
+     * Get the id of the entity, the index of its row in the store.
+     *
+     * @return The id of the entity.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the store holding the components of the entity.
+     *
+     * @return The entity store.
+     */
+    public EntityStore getStore() {
+        return store;
+    }
+
+    /**
+     * Get the spatial grid bucket holding the entity.
+     *
+     * @return The bucket index, or -1 if the entity is not indexed.
+     */
+    public int getGridBucket() {
+        return store.getGridBucket()[id];
     }
 
     /**
@@ -82,7 +83,7 @@ public abstract class Entity implements Cloneable {
      * @return Size of the entity.
      */
     public int getSize() {
-        return size;
+        return store.getSize()[id];
     }
 
     /**
@@ -91,7 +92,7 @@ public abstract class Entity implements Cloneable {
      * @return X position of the entity.
      */
     public int getxPos() {
-        return xPos;
+        return store.getX()[id];
     }
 
     /**
@@ -100,7 +101,7 @@ public abstract class Entity implements Cloneable {
      * @return Y position of the entity.
      */
     public int getyPos() {
-        return yPos;
+        return store.getY()[id];
     }
 
     /**
@@ -109,7 +110,7 @@ public abstract class Entity implements Cloneable {
      * @param xPos New X position of the entity.
      */
     public void setxPos(int xPos) {
-        this.xPos = xPos;
+        store.getX()[id] = xPos;
     }
 
     /**
@@ -118,7 +119,7 @@ public abstract class Entity implements Cloneable {
      * @param yPos New Y position of the entity.
      */
     public void setyPos(int yPos) {
-        this.yPos = yPos;
+        store.getY()[id] = yPos;
     }
 
     /**
@@ -0,0 +1,289 @@
+package pacman.entities;
+
+import java.util.Arrays;
+
+/**
+ * Class storing the components of the entities of a game session, one primitive array per component.
+ * An entity is a row of the store, the same index in every array; the entity classes are thin views over their row,
+ * and the systems of a tick (movement, ghost AI, collision and rendering) iterate the arrays directly.
+ * Rows are added when entities are created and never removed, the arrays grow by doubling. An array fetched from
+ * the store stays valid until the next row is added.
+ * The components of a range of rows can be written into an int buffer and read back, which is how the world is
+ * snapshotted.
+ */
+public class EntityStore {
+    // Flag bits of an entity: its kind, and whether it is destroyed
+    public static final int DESTROYED = 1;
+    public static final int MOVING = 1 << 1;
+    public static final int PACMAN = 1 << 2;
+    public static final int GHOST = 1 << 3;
+    public static final int WALL = 1 << 4;
+    public static final int GHOST_HOUSE = 1 << 5;
+
+    // Flag bit of a ghost in its chase cycle rather than its scatter cycle
+    public static final int CHASING = 1 << 6;
+
+    // Number of components of a row, the ints a row takes once written into a buffer
+    public static final int COMPONENT_COUNT = 14;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int count;
+
+    // View of every row
+    private Entity[] views = new Entity[INITIAL_CAPACITY];
+
+    // Components of every entity
+    private int[] flags = new int[INITIAL_CAPACITY];
+    private int[] size = new int[INITIAL_CAPACITY];
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    private int[] gridBucket = new int[INITIAL_CAPACITY];
+
+    // Components of the moving entities
+    private int[] xSpeed = new int[INITIAL_CAPACITY];
+    private int[] ySpeed = new int[INITIAL_CAPACITY];
+    private int[] speed = new int[INITIAL_CAPACITY];
+    private int[] direction = new int[INITIAL_CAPACITY];
+    private float[] spriteIndex = new float[INITIAL_CAPACITY];
+    private float[] spriteSpeed = new float[INITIAL_CAPACITY];
+    private int[] spritesPerCycle = new int[INITIAL_CAPACITY];
+
+    // Components of the ghosts: ticks spent in the current chase or scatter cycle, and frightened
+    private int[] modeTimer = new int[INITIAL_CAPACITY];
+    private int[] frightenedTimer = new int[INITIAL_CAPACITY];
+
+    /**
+     * Add a row for an entity.
+     *
+     * @param view The entity viewing the row.
+     * @param flags The flags of the entity.
+     * @param size Size of the entity.
+     * @param x X position of the entity.
+     * @param y Y position of the entity.
+     * @return The id of the entity, the index of its row.
+     */
+    public int add(Entity view, int flags, int size, int x, int y) {
+        if (count == views.length) {
+            grow();
+        }
+        int id = count++;
+        this.views[id] = view;
+        this.flags[id] = flags;
+        this.size[id] = size;
+        this.x[id] = x;
+        this.y[id] = y;
+        this.gridBucket[id] = -1;
+        return id;
+    }
+
+    /**
+     * Write the components of a range of rows into a buffer, one component after the other. The views are not
+     * written, a row is only ever read back under the same id.
+     *
+     * @param from The id of the first row to write.
+     * @param to The id following the last row to write.
+     * @param buffer The buffer to write into, {@link #COMPONENT_COUNT} ints per row.
+     * @param offset The index of the first int to write.
+     * @return The index following the last written int.
+     */
+    public int writeRows(int from, int to, int[] buffer, int offset) {
+        int rows = to - from;
+        offset = writeComponent(flags, from, rows, buffer, offset);
+        offset = writeComponent(size, from, rows, buffer, offset);
+        offset = writeComponent(x, from, rows, buffer, offset);
+        offset = writeComponent(y, from, rows, buffer, offset);
+        offset = writeComponent(gridBucket, from, rows, buffer, offset);
+        offset = writeComponent(xSpeed, from, rows, buffer, offset);
+        offset = writeComponent(ySpeed, from, rows, buffer, offset);
+        offset = writeComponent(speed, from, rows, buffer, offset);
+        offset = writeComponent(direction, from, rows, buffer, offset);
+        offset = writeComponent(spriteIndex, from, rows, buffer, offset);
+        offset = writeComponent(spriteSpeed, from, rows, buffer, offset);
+        offset = writeComponent(spritesPerCycle, from, rows, buffer, offset);
+        offset = writeComponent(modeTimer, from, rows, buffer, offset);
+        return writeComponent(frightenedTimer, from, rows, buffer, offset);
+    }
+
+    /**
+     * Read back the components of a range of rows written by {@link #writeRows(int, int, int[], int)}.
+     *
+     * @param from The id of the first row to read.
+     * @param to The id following the last row to read, the rows must exist in the store.
+     * @param buffer The buffer to read from.
+     * @param offset The index of the first int to read.
+     * @return The index following the last read int.
+     */
+    public int readRows(int from, int to, int[] buffer, int offset) {
+        if (to > count) {
+            throw new IllegalArgumentException("Rows up to " + to + " read into a store of " + count + " rows");
+        }
+        int rows = to - from;
+        offset = readComponent(flags, from, rows, buffer, offset);
+        offset = readComponent(size, from, rows, buffer, offset);
+        offset = readComponent(x, from, rows, buffer, offset);
+        offset = readComponent(y, from, rows, buffer, offset);
+        offset = readComponent(gridBucket, from, rows, buffer, offset);
+        offset = readComponent(xSpeed, from, rows, buffer, offset);
+        offset = readComponent(ySpeed, from, rows, buffer, offset);
+        offset = readComponent(speed, from, rows, buffer, offset);
+        offset = readComponent(direction, from, rows, buffer, offset);
+        offset = readComponent(spriteIndex, from, rows, buffer, offset);
+        offset = readComponent(spriteSpeed, from, rows, buffer, offset);
+        offset = readComponent(spritesPerCycle, from, rows, buffer, offset);
+        offset = readComponent(modeTimer, from, rows, buffer, offset);
+        return readComponent(frightenedTimer, from, rows, buffer, offset);
+    }
+
+    private static int writeComponent(int[] component, int from, int rows, int[] buffer, int offset) {
+        System.arraycopy(component, from, buffer, offset, rows);
+        return offset + rows;
+    }
+
+    private static int writeComponent(float[] component, int from, int rows, int[] buffer, int offset) {
+        for (int i = 0; i < rows; i++) {
+            buffer[offset + i] = Float.floatToRawIntBits(component[from + i]);
+        }
+        return offset + rows;
+    }
+
+    private static int readComponent(int[] component, int from, int rows, int[] buffer, int offset) {
+        System.arraycopy(buffer, offset, component, from, rows);
+        return offset + rows;
+    }
+
+    private static int readComponent(float[] component, int from, int rows, int[] buffer, int offset) {
+        for (int i = 0; i < rows; i++) {
+            component[from + i] = Float.intBitsToFloat(buffer[offset + i]);
+        }
+        return offset + rows;
+    }
+
+    /**
+     * Double the capacity of every array.
+     */
+    private void grow() {
+        int capacity = views.length * 2;
+        views = Arrays.copyOf(views, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        size = Arrays.copyOf(size, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        gridBucket = Arrays.copyOf(gridBucket, capacity);
+        xSpeed = Arrays.copyOf(xSpeed, capacity);
+        ySpeed = Arrays.copyOf(ySpeed, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        spriteIndex = Arrays.copyOf(spriteIndex, capacity);
+        spriteSpeed = Arrays.copyOf(spriteSpeed, capacity);
+        spritesPerCycle = Arrays.copyOf(spritesPerCycle, capacity);
+        modeTimer = Arrays.copyOf(modeTimer, capacity);
+        frightenedTimer = Arrays.copyOf(frightenedTimer, capacity);
+    }
+
+    /**
+     * Get the number of rows of the store.
+     *
+     * @return The number of entities.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of rows the arrays can hold before growing.
+     *
+     * @return The capacity of the store.
+     */
+    public int getCapacity() {
+        return views.length;
+    }
+
+    /**
+     * Get the entity viewing a row.
+     *
+     * @param id The id of the entity.
+     * @return The entity.
+     */
+    public Entity getView(int id) {
+        return views[id];
+    }
+
+    /**
+     * Check if an entity has all the given flags.
+     *
+     * @param id The id of the entity.
+     * @param mask The flags to check.
+     * @return True if every flag of the mask is set, false otherwise.
+     */
+    public boolean hasFlags(int id, int mask) {
+        return (flags[id] & mask) == mask;
+    }
+
+    /**
+     * Set or clear flags of an entity.
+     *
+     * @param id The id of the entity.
+     * @param mask The flags to change.
+     * @param set True to set the flags, false to clear them.
+     */
+    public void setFlags(int id, int mask, boolean set) {
+        flags[id] = set ? flags[id] | mask : flags[id] & ~mask;
+    }
+
+    public int[] getFlags() {
+        return flags;
+    }
+
+    public int[] getSize() {
+        return size;
+    }
+
+    public int[] getX() {
+        return x;
+    }
+
+    public int[] getY() {
+        return y;
+    }
+
+    public int[] getGridBucket() {
+        return gridBucket;
+    }
+
+    public int[] getXSpeed() {
+        return xSpeed;
+    }
+
+    public int[] getYSpeed() {
+        return ySpeed;
+    }
+
+    public int[] getSpeed() {
+        return speed;
+    }
+
+    public int[] getDirection() {
+        return direction;
+    }
+
+    public float[] getSpriteIndex() {
+        return spriteIndex;
+    }
+
+    public float[] getSpriteSpeed() {
+        return spriteSpeed;
+    }
+
+    public int[] getSpritesPerCycle() {
+        return spritesPerCycle;
+    }
+
+    public int[] getModeTimer() {
+        return modeTimer;
+    }
+
+    public int[] getFrightenedTimer() {
+        return frightenedTimer;
+    }
+}
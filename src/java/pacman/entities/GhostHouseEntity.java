@@ -9,10 +9,11 @@ public class GhostHouseEntity extends WallEntity {
     /**
      * Constructor to initialize the ghost house entity.
      *
+     * @param store The store holding the components of the ghost house.
      * @param xPos X position of the ghost house.
      * @param yPos Y position of the ghost house.
      */
-    public GhostHouseEntity(int xPos, int yPos) {
-        super(xPos, yPos);
+    public GhostHouseEntity(EntityStore store, int xPos, int yPos) {
+        super(store, EntityStore.WALL | EntityStore.GHOST_HOUSE, xPos, yPos);
     }
 }
@@ -0,0 +1,66 @@
+package pacman.entities;
+
+/**
+ * Class moving the entities of an entity store by their speed, working on the component arrays of the store.
+ * A moving entity advances by its speed, faces the way it moves, steps its animation and wraps around the edges
+ * of the world.
+ */
+public final class MovementSystem {
+    private MovementSystem() {}
+
+    /**
+     * Move an entity of a store.
+     *
+     * @param store The store holding the entity.
+     * @param id The id of the entity.
+     * @param worldWidth Width of the world in pixels.
+     * @param worldHeight Height of the world in pixels.
+     */
+    public static void move(EntityStore store, int id, int worldWidth, int worldHeight) {
+        int[] x = store.getX();
+        int[] y = store.getY();
+        int xSpeed = store.getXSpeed()[id];
+        int ySpeed = store.getYSpeed()[id];
+        if (!(xSpeed == 0 && ySpeed == 0)) {
+            x[id] += xSpeed;
+            y[id] += ySpeed;
+
+            // Update direction based on speed
+            int[] direction = store.getDirection();
+            if (xSpeed > 0) {
+                direction[id] = 0;
+            } else if (xSpeed < 0) {
+                direction[id] = 1;
+            } else if (ySpeed < 0) {
+                direction[id] = 2;
+            } else {
+                direction[id] = 3;
+            }
+
+            // Update sprite index for animation
+            float[] spriteIndex = store.getSpriteIndex();
+            spriteIndex[id] += store.getSpriteSpeed()[id];
+            if (spriteIndex[id] >= store.getSpritesPerCycle()[id]) {
+                spriteIndex[id] = 0;
+            }
+        }
+
+        // Wrap around the world edges
+        int minPosition = store.getSpeed()[id] - store.getSize()[id];
+        if (x[id] > worldWidth) {
+            x[id] = minPosition;
+        }
+
+        if (x[id] < minPosition) {
+            x[id] = worldWidth;
+        }
+
+        if (y[id] > worldHeight) {
+            y[id] = minPosition;
+        }
+
+        if (y[id] < minPosition) {
+            y[id] = worldHeight;
+        }
+    }
+}
@@ -1,46 +1,30 @@
 package pacman.entities;
 
-import javax.imageio.ImageIO;
-
-import pacman.game.GameplayPanel;
+import pacman.game.GameSession;
+import pacman.helpers.SpriteAtlas;
+import pacman.helpers.SpriteSheet;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.WritableRaster;
-import java.io.IOException;
-import java.io.File;
 
 /**
  * Abstract class representing a moving entity in the game.
- * This class extends the Entity class and adds movement capabilities.
+ * This class extends the Entity class and adds movement capabilities. Its speed, direction and animation are
+ * components of the entity store, moved by the {@link MovementSystem}.
+ * The direction of the entity is 0 for right, 1 for left, 2 for up and 3 for down.
  */
 public abstract class MovingEntity extends Entity {
-    // Speed of the entity
-    protected int entitySpeed;
-
-    // X and Y speed components of the entity
-    protected int xSpeed = 0;
-    protected int ySpeed = 0;
-
-    // Sprite image of the entity
-    protected BufferedImage sprite;
-
-    // Index of the current sprite frame
-    protected float spriteIndex = 0;
-
-    // Number of sprites per cycle of animation
-    protected int spritesPerCycle;
-
-    // Current direction of the entity (0 - right, 1 - left, 2 - up, 3 - down)
-    protected int direction = 0;
+    // Game session the entity belongs to
+    protected final GameSession session;
 
-    // Speed of the sprite animation
-    protected float spriteSpeed = 0.2f;
+    // Sprite sheet of the entity, one frame per direction and animation step
+    protected SpriteSheet sprite;
 
     /**
      * Constructor to initialize a moving entity.
      *
+     * @param session Game session the entity belongs to.
+     * @param flags The {@link EntityStore} flags of the entity, besides {@link EntityStore#MOVING}.
      * @param size Size of the entity.
      * @param xPos X position of the entity.
      * @param yPos Y position of the entity.
@@ -49,93 +33,46 @@ public abstract class MovingEntity extends Entity {
      * @param spritesPerCycle Number of sprites per cycle.
      * @param spriteSpeed Speed of the sprite animation.
      */
-    public MovingEntity(int size, int xPos, int yPos, int entitySpeed, String spriteName, int spritesPerCycle,
-                        float spriteSpeed) {
-        super(size, xPos, yPos);
-        this.entitySpeed = entitySpeed;
-        try {
-            this.sprite = ImageIO.read(new File("src/resources/sprites/" + spriteName));
-            this.spritesPerCycle = spritesPerCycle;
-            this.spriteSpeed = spriteSpeed;
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    public MovingEntity(GameSession session, int flags, int size, int xPos, int yPos, int entitySpeed,
+                        String spriteName, int spritesPerCycle, float spriteSpeed) {
+        super(session.getEntityStore(), flags | EntityStore.MOVING, size, xPos, yPos);
+        this.session = session;
+        this.sprite = SpriteAtlas.getSheet(spriteName, size);
+        store.getSpeed()[id] = entitySpeed;
+        store.getSpritesPerCycle()[id] = spritesPerCycle;
+        store.getSpriteSpeed()[id] = spriteSpeed;
     }
 
-    @Override
-    public void refresh() {
-        updatePosition();
+    /**
+     * Update the position of the entity based on its speed.
+     */
+    public void updatePosition() {
+        MovementSystem.move(store, id, session.getLevel().getWorldWidth(), session.getLevel().getWorldHeight());
     }
 
     @Override
-    public MovingEntity clone() {
-        MovingEntity cloned = (MovingEntity) super.clone();
-        cloned.sprite = copyBufferedImage(this.sprite);
-        return cloned;
+    public void render(Graphics2D g) {
+        g.drawImage(getCurrentFrame(), getxPos(), getyPos(), null);
     }
 
     /**
-     * Utility method to copy a BufferedImage.
+     * Get the sprite frame drawn for the entity in its current state.
      *
-     * @param image The image to copy.
-     * @return A copy of the given image.
+     * @return The current sprite frame.
      */
-    private BufferedImage copyBufferedImage(BufferedImage image) {
-        ColorModel cm = image.getColorModel();
-        boolean isAlphaPremultiplied = cm.isAlphaPremultiplied();
-        WritableRaster raster = image.copyData(null);
-        return new BufferedImage(cm, raster, isAlphaPremultiplied, null);
+    public BufferedImage getCurrentFrame() {
+        return SpriteAtlas.getSprite(getCurrentSpriteId());
     }
 
     /**
-     * Update the position of the entity based on its speed.
+     * Get the sprite id of the frame drawn for the entity in its current state.
+     *
+     * @return The sprite id of the current frame.
      */
-    public void updatePosition() {
-        if (!(xSpeed == 0 && ySpeed == 0)) {
-            xPos += xSpeed;
-            yPos += ySpeed;
-
-            // Update direction based on speed
-            if (xSpeed > 0) {
-                direction = 0;
-            } else if (xSpeed < 0) {
-                direction = 1;
-            } else if (ySpeed < 0) {
-                direction = 2;
-            } else if (ySpeed > 0) {
-                direction = 3;
-            }
-
-            // Update sprite index for animation
-            spriteIndex += spriteSpeed;
-            if (spriteIndex >= spritesPerCycle) {
-                spriteIndex = 0;
-            }
-        }
-
-        // Wrap around screen edges
-        if (xPos > GameplayPanel.gameWidth) {
-            xPos = 0 - size + entitySpeed;
-        }
-
-        if (xPos < 0 - size + entitySpeed) {
-            xPos = GameplayPanel.gameWidth;
-        }
-
-        if (yPos > GameplayPanel.gameHeight) {
-            yPos = 0 - size + entitySpeed;
-        }
-
-        if (yPos < 0 - size + entitySpeed) {
-            yPos = GameplayPanel.gameHeight;
-        }
-    }
-
-    @Override
-    public void render(Graphics2D g) {
-        // Draw the current sprite frame based on direction and sprite index
-        g.drawImage(sprite.getSubimage((int) spriteIndex * size + direction * size * spritesPerCycle, 0, size,
-                size), this.xPos, this.yPos, null);
+    public int getCurrentSpriteId() {
+        // Current sprite frame based on direction and sprite index
+        return sprite.getSpriteId((int) store.getSpriteIndex()[id] + store.getDirection()[id]
+                * store.getSpritesPerCycle()[id]);
     }
 
     /**
@@ -144,7 +81,7 @@ public abstract class MovingEntity extends Entity {
      * @return True if the entity is on the grid, false otherwise.
      */
     public boolean isOnGrid() {
-        return xPos % 8 == 0 && yPos % 8 == 0;
+        return store.getX()[id] % 8 == 0 && store.getY()[id] % 8 == 0;
     }
 
     /**
@@ -153,70 +90,73 @@ public abstract class MovingEntity extends Entity {
      * @return True if the entity is within the gameplay window, false otherwise.
      */
     public boolean isInGameplayWindow() {
-        return xPos > 0 && xPos < GameplayPanel.gameWidth && yPos > 0 && yPos < GameplayPanel.gameHeight;
+        int xPos = store.getX()[id];
+        int yPos = store.getY()[id];
+        return xPos > 0 && xPos < session.getLevel().getWorldWidth() && yPos > 0
+                && yPos < session.getLevel().getWorldHeight();
+    }
+
+    public GameSession getSession() {
+        return session;
     }
 
     public Rectangle getHitbox() {
-        return new Rectangle(xPos, yPos, size, size);
+        return new Rectangle(getxPos(), getyPos(), getSize(), getSize());
     }
 
-    public BufferedImage getSprite() {
+    public SpriteSheet getSprite() {
         return sprite;
     }
 
-    public void setSprite(BufferedImage sprite) {
+    public void setSprite(SpriteSheet sprite) {
         this.sprite = sprite;
     }
 
     public void setSprite(String spriteName) {
-        try {
-            this.sprite = ImageIO.read(new File("src/resources/sprites/" + spriteName));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        this.sprite = SpriteAtlas.getSheet(spriteName, getSize());
     }
 
     public float getSpriteIndex() {
-        return spriteIndex;
+        return store.getSpriteIndex()[id];
     }
 
     public void setSpriteIndex(float spriteIndex) {
-        this.spriteIndex = spriteIndex;
+        store.getSpriteIndex()[id] = spriteIndex;
     }
 
     public int getSpritesPerCycle() {
-        return spritesPerCycle;
+        return store.getSpritesPerCycle()[id];
     }
 
     public void setSpritesPerCycle(int spritesPerCycle) {
-        this.spritesPerCycle = spritesPerCycle;
+        store.getSpritesPerCycle()[id] = spritesPerCycle;
     }
 
     public int getDirection() {
-        return direction;
+        return store.getDirection()[id];
     }
 
     public void setDirection(int direction) {
-        this.direction = direction;
+        store.getDirection()[id] = direction;
     }
 
     public int getxSpeed() {
-        return xSpeed;
+        return store.getXSpeed()[id];
     }
 
     public void setxSpeed(int xSpeed) {
-        this.xSpeed = xSpeed;
+        store.getXSpeed()[id] = xSpeed;
     }
 
     public int getySpeed() {
-        return ySpeed;
+        return store.getYSpeed()[id];
     }
 
     public void setySpeed(int ySpeed) {
-        this.ySpeed = ySpeed;
+        store.getYSpeed()[id] = ySpeed;
     }
 
     public int getEntitySpeed() {
-        return entitySpeed;
+        return store.getSpeed()[id];
     }
 }
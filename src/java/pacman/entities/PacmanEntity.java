@@ -1,90 +1,86 @@
 package pacman.entities;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import pacman.game.GameEvent;
+import pacman.game.GameEventQueue;
 import pacman.game.GameSession;
-import pacman.game.Observer;
-import pacman.game.Subject;
-import pacman.ghosts.Ghost;
-import pacman.ghosts.ghostStates.EatenState;
-import pacman.ghosts.ghostStates.FrightenedState;
+import pacman.game.PlayerInput;
 import pacman.helpers.EntityCollisionDetector;
-import pacman.helpers.KeyHandler;
 import pacman.helpers.WallCollisionDetector;
 
 /**
  * Class representing the Pacman entity in the game.
- * This class extends MovingEntity and implements Subject.
+ * This class extends MovingEntity. What Pacman runs into is queued as events, which the game session applies
+ * before Pacman moves.
  */
-public class PacmanEntity extends MovingEntity implements Subject {
-    private static PacmanEntity instance = null;
+public class PacmanEntity extends MovingEntity {
     private EntityCollisionDetector collisionDetector;
-    private List<Observer> observerCollection;
     private int lives = 3;
     private boolean pacmanDeath = false;
 
-    /**
-     * Private constructor to initialize the Pacman entity.
-     *
-     * @param xPos X position of Pacman.
-     * @param yPos Y position of Pacman.
-     */
-    private PacmanEntity(int xPos, int yPos) {
-        super(32, xPos, yPos, 2, "pacman.png", 4, 0.3f);
-        observerCollection = new ArrayList<>();
-    }
+    // Spawn position of Pacman
+    private final int spawnX;
+    private final int spawnY;
+
+    // Directions held down when Pacman died, ignored until they are released
+    private int suppressedInput = PlayerInput.NONE;
+
+    // Number of ints the state of Pacman besides its components takes in a world snapshot
+    public static final int STATE_SIZE = 3;
 
     /**
-     * Singleton method to get the instance of PacmanEntity.
+     * Constructor to initialize the Pacman entity.
      *
+     * @param session Game session Pacman belongs to.
      * @param xPos X position of Pacman.
      * @param yPos Y position of Pacman.
-     * @return The singleton instance of PacmanEntity.
      */
-    public static PacmanEntity getInstance(int xPos, int yPos) {
-        if (instance == null) {
-            instance = new PacmanEntity(xPos, yPos);
-        }
-        return instance;
+    public PacmanEntity(GameSession session, int xPos, int yPos) {
+        super(session, EntityStore.PACMAN, 32, xPos, yPos, 2, "pacman.png", 4, 0.3f);
+        spawnX = xPos;
+        spawnY = yPos;
     }
 
     /**
-     * Handle Pacman's movements based on key inputs.
+     * Handle Pacman's movements based on the player input.
      *
-     * @param keyHandler Key handler for capturing user inputs.
+     * @param input The player input mask, made of {@link PlayerInput} bits.
      */
-    public void handleInput(KeyHandler keyHandler) {
+    public void handleInput(int input) {
         int newXSpeed = 0;
         int newYSpeed = 0;
+        suppressedInput &= input;
         // Pacman must be on a "case" of the game area and within the gameplay window
         if (!isOnGrid() || !isInGameplayWindow())
             return;
         if (pacmanDeath) {
             pacmanDeath = false;
-            System.out.println("Pacman Respawned");
-            keyHandler.leftKey.isPressed = false;
-            keyHandler.rightKey.isPressed = false;
-            keyHandler.upKey.isPressed = false;
-            keyHandler.downKey.isPressed = false;
-            GameSession.setFirstUserInput(false);
+            if (session.isLogging()) {
+                System.out.println("Pacman Respawned");
+            }
+            suppressedInput = input;
+            session.setFirstUserInput(false);
             // return;
         }
+        input &= ~suppressedInput;
+        WallCollisionDetector wallCollisionDetector = session.getWallCollisionDetector();
+        int xSpeed = getxSpeed();
+        int ySpeed = getySpeed();
+        int entitySpeed = getEntitySpeed();
         // Change Pacman's direction based on the pressed keys
-        if (keyHandler.leftKey.isPressed && xSpeed >= 0
-                && !WallCollisionDetector.isCollision(this, -entitySpeed, 0)) {
+        if (PlayerInput.isPressed(input, PlayerInput.LEFT) && xSpeed >= 0
+                && !wallCollisionDetector.isCollision(this, -entitySpeed, 0)) {
             newXSpeed = -entitySpeed;
         }
-        if (keyHandler.rightKey.isPressed && xSpeed <= 0
-                && !WallCollisionDetector.isCollision(this, entitySpeed, 0)) {
+        if (PlayerInput.isPressed(input, PlayerInput.RIGHT) && xSpeed <= 0
+                && !wallCollisionDetector.isCollision(this, entitySpeed, 0)) {
             newXSpeed = entitySpeed;
         }
-        if (keyHandler.upKey.isPressed && ySpeed >= 0
-                && !WallCollisionDetector.isCollision(this, 0, -entitySpeed)) {
+        if (PlayerInput.isPressed(input, PlayerInput.UP) && ySpeed >= 0
+                && !wallCollisionDetector.isCollision(this, 0, -entitySpeed)) {
             newYSpeed = -entitySpeed;
         }
-        if (keyHandler.downKey.isPressed && ySpeed <= 0
-                && !WallCollisionDetector.isCollision(this, 0, entitySpeed)) {
+        if (PlayerInput.isPressed(input, PlayerInput.DOWN) && ySpeed <= 0
+                && !wallCollisionDetector.isCollision(this, 0, entitySpeed)) {
             newYSpeed = entitySpeed;
         }
 
@@ -93,54 +89,52 @@ public class PacmanEntity extends MovingEntity implements Subject {
             return;
 
         // If it's the first input, set the flag
-        if (!GameSession.getIsFirstUserInput())
-            GameSession.setFirstUserInput(true);
+        if (!session.getIsFirstUserInput())
+            session.setFirstUserInput(true);
 
         // Update entitySpeed values
         if (Math.abs(newXSpeed) != Math.abs(newYSpeed)) {
-            xSpeed = newXSpeed;
-            ySpeed = newYSpeed;
+            setxSpeed(newXSpeed);
+            setySpeed(newYSpeed);
         } else {
             if (xSpeed != 0) {
-                xSpeed = 0;
-                ySpeed = newYSpeed;
+                setxSpeed(0);
+                setySpeed(newYSpeed);
             } else {
-                xSpeed = newXSpeed;
-                ySpeed = 0;
+                setxSpeed(newXSpeed);
+                setySpeed(0);
             }
         }
     }
 
     /**
-     * Refresh the state of Pacman, checking for collisions and updating position.
+     * Check for collisions with the Pac-Gums, the Super Pac-Gums and the ghosts, queuing an event for each one
+     * into the event queue of the game session.
      */
-    @Override
-    public void refresh() {
-        // Check for collisions with PacGum, SuperPacGum, and Ghosts
-        // If there is a collision, notify the observers
-        PacGumEntity pacGum = (PacGumEntity) collisionDetector.checkCollision(this, PacGumEntity.class);
-        if (pacGum != null) {
-            notifyObserversPacGumEaten(pacGum);
+    public void checkCollisions() {
+        GameEventQueue events = session.getEventQueue();
+        int pacGumCell = collisionDetector.checkPacGumCollision(this);
+        if (pacGumCell >= 0) {
+            events.offer(GameEvent.PAC_GUM_EATEN, pacGumCell);
         }
 
-        SuperPacGumEntity superPacGum = (SuperPacGumEntity) collisionDetector.checkCollision(this,
-                SuperPacGumEntity.class);
-        if (superPacGum != null) {
-            notifyObserversSuperPacGumEaten(superPacGum);
+        int superPacGumCell = collisionDetector.checkSuperPacGumCollision(this);
+        if (superPacGumCell >= 0) {
+            events.offer(GameEvent.SUPER_PAC_GUM_EATEN, superPacGumCell);
         }
 
-        Ghost ghost = (Ghost) collisionDetector.checkCollision(this, Ghost.class);
-        if (ghost != null) {
-
-            // if ghost isnt in frightened state, pacman dies
-            if (!(ghost.getState() instanceof FrightenedState) && !(ghost.getState() instanceof EatenState))
-                handleDeath(); // Handle Pacman's death
-
-            notifyObserversGhostCollision(ghost); // Notify observers
-
+        int ghostId = collisionDetector.checkCollision(id, EntityStore.GHOST);
+        if (ghostId >= 0) {
+            events.offer(GameEvent.GHOST_COLLISION, ghostId);
         }
-        // If there is no collision with a wall, update Pacman's position
-        if (!WallCollisionDetector.isCollision(this, xSpeed, ySpeed)) {
+    }
+
+    /**
+     * Move Pacman by its speed, unless a wall is in the way. The collisions are checked beforehand by
+     * {@link #checkCollisions()}.
+     */
+    public void move() {
+        if (!session.getWallCollisionDetector().isCollision(this, getxSpeed(), getySpeed())) {
             updatePosition();
         }
     }
@@ -154,31 +148,6 @@ public class PacmanEntity extends MovingEntity implements Subject {
         this.collisionDetector = collisionDetector;
     }
 
-    @Override
-    public void registerObserver(Observer observer) {
-        observerCollection.add(observer);
-    }
-
-    @Override
-    public void removeObserver(Observer observer) {
-        observerCollection.remove(observer);
-    }
-
-    @Override
-    public void notifyObserversPacGumEaten(PacGumEntity pg) {
-        observerCollection.forEach(obs -> obs.updatePacGumEaten(pg));
-    }
-
-    @Override
-    public void notifyObserversSuperPacGumEaten(SuperPacGumEntity spg) {
-        observerCollection.forEach(obs -> obs.updateSuperPacGumEaten(spg));
-    }
-
-    @Override
-    public void notifyObserversGhostCollision(Ghost gh) {
-        observerCollection.forEach(obs -> obs.updateGhostCollision(gh));
-    }
-
     public int getLives() {
         return lives;
     }
@@ -194,23 +163,54 @@ public class PacmanEntity extends MovingEntity implements Subject {
         if (pacmanDeath || lives <= 0)
             return;
         lives--;
-        System.out.println("Lives: " + lives);
-        setxPos(208);
-        setyPos(360);
+        if (session.isLogging()) {
+            System.out.println("Lives: " + lives);
+        }
+        setxPos(spawnX);
+        setyPos(spawnY);
         pacmanDeath = true;
-        xSpeed = 0;
-        ySpeed = 0;
+        setxSpeed(0);
+        setySpeed(0);
+    }
+
+    /**
+     * Write the state of Pacman that is not held by the entity store into a buffer.
+     *
+     * @param buffer The buffer to write into.
+     * @param offset The index of the first int to write.
+     * @return The index following the last written int.
+     */
+    public int writeState(int[] buffer, int offset) {
+        buffer[offset] = lives;
+        buffer[offset + 1] = pacmanDeath ? 1 : 0;
+        buffer[offset + 2] = suppressedInput;
+        return offset + STATE_SIZE;
+    }
+
+    /**
+     * Read back the state written by {@link #writeState(int[], int)}.
+     *
+     * @param buffer The buffer to read from.
+     * @param offset The index of the first int to read.
+     * @return The index following the last read int.
+     */
+    public int readState(int[] buffer, int offset) {
+        lives = buffer[offset];
+        pacmanDeath = buffer[offset + 1] != 0;
+        suppressedInput = buffer[offset + 2];
+        return offset + STATE_SIZE;
     }
 
     /**
      * Reset Pacman to the initial state.
      */
     public void reset() {
-        setxPos(208);
-        setyPos(360);
-        xSpeed = 0;
-        ySpeed = 0;
+        setxPos(spawnX);
+        setyPos(spawnY);
+        setxSpeed(0);
+        setySpeed(0);
         pacmanDeath = false;
         lives = 3;
+        suppressedInput = PlayerInput.NONE;
     }
 }
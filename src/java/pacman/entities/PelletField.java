@@ -0,0 +1,486 @@
+package pacman.entities;
+
+import java.awt.*;
+import java.util.Arrays;
+
+import pacman.game.Level;
+import pacman.game.Tile;
+
+/**
+ * Class representing the Pac-Gums and Super Pac-Gums of the level.
+ * Each kind is stored as a bitboard over the level grid, one bit per cell. The cells eaten since the level was set up
+ * are also listed in the order they were eaten, which is all a {@link pacman.game.WorldSnapshot} holds of the field.
+ */
+public class PelletField {
+    // Colour of the Pac-Gums and Super Pac-Gums
+    private static final Color PELLET_COLOR = new Color(255, 183, 174);
+
+    // Sizes of the Pac-Gums and Super Pac-Gums, Pac-Gums are offset by one cell in the level grid
+    private static final int PAC_GUM_SIZE = 4;
+    private static final int SUPER_PAC_GUM_SIZE = 16;
+
+    private final int width;
+    private final int height;
+    private final int cellDimension;
+
+    private final long[] pacGums;
+    private final long[] superPacGums;
+    private int pacGumCount;
+    private int superPacGumCount;
+
+    // Cells eaten since the level was set up, in the order they were eaten, Super Pac-Gums stored as ~cell
+    private final int[] eaten;
+    private int eatenCount;
+
+    // Frame count used for the Super Pac-Gum animation
+    private int frameCount = 0;
+
+    /**
+     * Constructor to build the pellet field from the tiles of a level.
+     *
+     * @param level The level.
+     * @param cellDimension The size of a grid cell in pixels.
+     */
+    public PelletField(Level level, int cellDimension) {
+        this.width = level.getWidth();
+        this.height = level.getHeight();
+        this.cellDimension = cellDimension;
+        this.pacGums = new long[(width * height + 63) >>> 6];
+        this.superPacGums = new long[pacGums.length];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                byte tile = level.getTile(x, y);
+                if (tile == Tile.PAC_GUM) {
+                    pacGums[cell >>> 6] |= 1L << cell;
+                } else if (tile == Tile.SUPER_PAC_GUM) {
+                    superPacGums[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+
+        pacGumCount = popCount(pacGums);
+        superPacGumCount = popCount(superPacGums);
+        eaten = new int[pacGumCount + superPacGumCount];
+    }
+
+    /**
+     * Get the number of ints the state of the pellet field takes in a {@link pacman.game.WorldSnapshot}, which grows
+     * with the cells eaten and not with the size of the level.
+     *
+     * @return The size of the state.
+     */
+    public int getStateSize() {
+        return eatenCount + 2;
+    }
+
+    /**
+     * Write the animation and the cells eaten since the level was set up into a buffer.
+     *
+     * @param buffer The buffer to write into.
+     * @param offset The index of the first int to write.
+     * @return The index following the last written int.
+     */
+    public int writeState(int[] buffer, int offset) {
+        buffer[offset++] = frameCount;
+        buffer[offset++] = eatenCount;
+        System.arraycopy(eaten, 0, buffer, offset, eatenCount);
+        return offset + eatenCount;
+    }
+
+    /**
+     * Read back the animation and the eaten cells written by {@link #writeState(int[], int)} from a pellet field of
+     * the same level. The cells both fields ate first, in the same order, are left as they are: the field only puts
+     * back the cells it ate after them and eats the ones of the state after them.
+     *
+     * @param buffer The buffer to read from.
+     * @param offset The index of the first int to read.
+     * @return The index following the last read int.
+     */
+    public int readState(int[] buffer, int offset) {
+        frameCount = buffer[offset++];
+        int count = buffer[offset++];
+        int common = 0;
+        while (common < count && common < eatenCount && eaten[common] == buffer[offset + common]) {
+            common++;
+        }
+        while (eatenCount > common) {
+            int cell = eaten[--eatenCount];
+            if (cell >= 0) {
+                pacGums[cell >>> 6] |= 1L << cell;
+                pacGumCount++;
+            } else {
+                superPacGums[~cell >>> 6] |= 1L << ~cell;
+                superPacGumCount++;
+            }
+        }
+        for (int i = common; i < count; i++) {
+            int cell = buffer[offset + i];
+            if (cell >= 0) {
+                eatPacGum(cell);
+            } else {
+                eatSuperPacGum(~cell);
+            }
+        }
+        return offset + count;
+    }
+
+    /**
+     * Find the Pac-Gum whose hitbox contains a point.
+     *
+     * @param x X coordinate of the point.
+     * @param y Y coordinate of the point.
+     * @return The cell of the Pac-Gum, or -1 if there is none.
+     */
+    public int findPacGum(int x, int y) {
+        int offsetX = x - cellDimension;
+        int offsetY = y - cellDimension;
+        if (Math.floorMod(offsetX, cellDimension) >= PAC_GUM_SIZE || Math.floorMod(offsetY, cellDimension) >= PAC_GUM_SIZE) {
+            return -1;
+        }
+        int cell = toCell(Math.floorDiv(offsetX, cellDimension), Math.floorDiv(offsetY, cellDimension));
+        return cell >= 0 && isSet(pacGums, cell) ? cell : -1;
+    }
+
+    /**
+     * Find the Super Pac-Gum whose hitbox contains a point.
+     *
+     * @param x X coordinate of the point.
+     * @param y Y coordinate of the point.
+     * @return The cell of the Super Pac-Gum, or -1 if there is none.
+     */
+    public int findSuperPacGum(int x, int y) {
+        int span = SUPER_PAC_GUM_SIZE / cellDimension;
+        int cellX = Math.floorDiv(x, cellDimension);
+        int cellY = Math.floorDiv(y, cellDimension);
+        for (int cy = cellY - span + 1; cy <= cellY; cy++) {
+            for (int cx = cellX - span + 1; cx <= cellX; cx++) {
+                int cell = toCell(cx, cy);
+                if (cell >= 0 && isSet(superPacGums, cell)) {
+                    return cell;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove a Pac-Gum from the field.
+     *
+     * @param cell The cell of the Pac-Gum.
+     */
+    public void eatPacGum(int cell) {
+        if (isSet(pacGums, cell)) {
+            pacGums[cell >>> 6] &= ~(1L << cell);
+            pacGumCount--;
+            eaten[eatenCount++] = cell;
+        }
+    }
+
+    /**
+     * Remove a Super Pac-Gum from the field.
+     *
+     * @param cell The cell of the Super Pac-Gum.
+     */
+    public void eatSuperPacGum(int cell) {
+        if (isSet(superPacGums, cell)) {
+            superPacGums[cell >>> 6] &= ~(1L << cell);
+            superPacGumCount--;
+            eaten[eatenCount++] = ~cell;
+        }
+    }
+
+    /**
+     * Get the number of remaining Pac-Gums.
+     *
+     * @return The number of remaining Pac-Gums.
+     */
+    public int getPacGumCount() {
+        return pacGumCount;
+    }
+
+    /**
+     * Get the number of remaining Super Pac-Gums.
+     *
+     * @return The number of remaining Super Pac-Gums.
+     */
+    public int getSuperPacGumCount() {
+        return superPacGumCount;
+    }
+
+    /**
+     * Find the remaining Pac-Gums on the square ring of cells at some distance of a cell, every cell of the ring being
+     * that many cells away horizontally or vertically. Searching the rings outward from 0 finds the closest Pac-Gums
+     * first, and only visits the cells of the rings searched, however large the level.
+     *
+     * @param cellX X coordinate of the center of the ring.
+     * @param cellY Y coordinate of the center of the ring.
+     * @param distance The distance of the ring in cells, 0 for the center alone.
+     * @param result The array receiving the cells of the Pac-Gums, of at least 8 * distance ints, 1 for the center.
+     * @return The number of cells stored in the array.
+     */
+    public int findPacGums(int cellX, int cellY, int distance, int[] result) {
+        if (distance == 0) {
+            int cell = toCell(cellX, cellY);
+            if (cell >= 0 && isSet(pacGums, cell)) {
+                result[0] = cell;
+                return 1;
+            }
+            return 0;
+        }
+        int count = 0;
+        for (int x = cellX - distance; x <= cellX + distance; x++) {
+            count = addPacGum(x, cellY - distance, result, count);
+            count = addPacGum(x, cellY + distance, result, count);
+        }
+        for (int y = cellY - distance + 1; y < cellY + distance; y++) {
+            count = addPacGum(cellX - distance, y, result, count);
+            count = addPacGum(cellX + distance, y, result, count);
+        }
+        return count;
+    }
+
+    /**
+     * Copy the Pac-Gum bitboard, bit i of word w standing for the cell 64 * w + i.
+     *
+     * @param target The array receiving the bitboard, of {@link #getWordCount()} words.
+     */
+    public void copyPacGums(long[] target) {
+        System.arraycopy(pacGums, 0, target, 0, pacGums.length);
+    }
+
+    /**
+     * Copy the Super Pac-Gum bitboard.
+     *
+     * @param target The array receiving the bitboard, of {@link #getWordCount()} words.
+     */
+    public void copySuperPacGums(long[] target) {
+        System.arraycopy(superPacGums, 0, target, 0, superPacGums.length);
+    }
+
+    /**
+     * Copy a window of the Pac-Gum bitboard, bit i of the copy standing for the cell
+     * (cellX + i % columns, cellY + i / columns). The window must lie within the level.
+     *
+     * @param cellX X coordinate of the top-left cell of the window.
+     * @param cellY Y coordinate of the top-left cell of the window.
+     * @param columns Width of the window in cells.
+     * @param rows Height of the window in cells.
+     * @param target The array receiving the window, of at least {@link #getWordCount(int, int)} words.
+     */
+    public void copyPacGums(int cellX, int cellY, int columns, int rows, long[] target) {
+        copyWindow(pacGums, cellX, cellY, columns, rows, target);
+    }
+
+    /**
+     * Copy a window of the Super Pac-Gum bitboard, laid out like {@link #copyPacGums(int, int, int, int, long[])}.
+     *
+     * @param cellX X coordinate of the top-left cell of the window.
+     * @param cellY Y coordinate of the top-left cell of the window.
+     * @param columns Width of the window in cells.
+     * @param rows Height of the window in cells.
+     * @param target The array receiving the window, of at least {@link #getWordCount(int, int)} words.
+     */
+    public void copySuperPacGums(int cellX, int cellY, int columns, int rows, long[] target) {
+        copyWindow(superPacGums, cellX, cellY, columns, rows, target);
+    }
+
+    /**
+     * Get the number of words of a bitboard covering a window of cells.
+     *
+     * @param columns Width of the window in cells.
+     * @param rows Height of the window in cells.
+     * @return The number of words.
+     */
+    public static int getWordCount(int columns, int rows) {
+        return (columns * rows + 63) >>> 6;
+    }
+
+    /**
+     * Get the number of words of the bitboards.
+     *
+     * @return The number of words.
+     */
+    public int getWordCount() {
+        return pacGums.length;
+    }
+
+    /**
+     * Check if the blinking Super Pac-Gums are currently shown.
+     *
+     * @return True if the Super Pac-Gums are drawn this frame, false otherwise.
+     */
+    public boolean isSuperPacGumVisible() {
+        // Flashing effect: alternate between visible and invisible every 30 frames
+        return frameCount % 60 < 30;
+    }
+
+    /**
+     * Get the area covered by the Super Pac-Gum of a cell.
+     *
+     * @param cell The cell of the Super Pac-Gum.
+     * @param bounds The rectangle receiving the area.
+     */
+    public void getSuperPacGumBounds(int cell, Rectangle bounds) {
+        bounds.setBounds(cell % width * cellDimension, cell / width * cellDimension, SUPER_PAC_GUM_SIZE,
+                SUPER_PAC_GUM_SIZE);
+    }
+
+    /**
+     * Get the area covered by the Pac-Gum of a cell, to draw or erase it.
+     *
+     * @param cell The cell of the Pac-Gum.
+     * @param bounds The rectangle receiving the area.
+     */
+    public void getPacGumBounds(int cell, Rectangle bounds) {
+        bounds.setBounds((cell % width + 1) * cellDimension, (cell / width + 1) * cellDimension, PAC_GUM_SIZE,
+                PAC_GUM_SIZE);
+    }
+
+    /**
+     * Update the Super Pac-Gum animation.
+     */
+    public void refresh() {
+        frameCount++;
+    }
+
+    /**
+     * Render the remaining Pac-Gums and Super Pac-Gums, scanning the set bits row by row.
+     *
+     * @param g Graphics object used for rendering.
+     */
+    public void render(Graphics2D g) {
+        for (int word = 0; word < pacGums.length; word++) {
+            long bits = pacGums[word];
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                renderPacGum(g, cell);
+            }
+        }
+        renderSuperPacGums(g);
+    }
+
+    /**
+     * Render the Pac-Gum of a cell, whether or not it has been eaten.
+     *
+     * @param g Graphics object used for rendering.
+     * @param cell The cell of the Pac-Gum.
+     */
+    public void renderPacGum(Graphics2D g, int cell) {
+        g.setColor(PELLET_COLOR);
+        g.fillRect((cell % width + 1) * cellDimension, (cell / width + 1) * cellDimension, PAC_GUM_SIZE, PAC_GUM_SIZE);
+    }
+
+    /**
+     * Render the remaining Super Pac-Gums, which blink.
+     *
+     * @param g Graphics object used for rendering.
+     */
+    public void renderSuperPacGums(Graphics2D g) {
+        if (isSuperPacGumVisible()) {
+            renderSuperPacGums(g, superPacGums);
+        }
+    }
+
+    /**
+     * Render the Super Pac-Gums of a bitboard laid out like the one of the field, such as a copy of it.
+     *
+     * @param g Graphics object used for rendering.
+     * @param superPacGums The Super Pac-Gum bitboard.
+     */
+    public void renderSuperPacGums(Graphics2D g, long[] superPacGums) {
+        for (int word = 0; word < superPacGums.length; word++) {
+            long bits = superPacGums[word];
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                renderSuperPacGum(g, cell);
+            }
+        }
+    }
+
+    /**
+     * Render the Super Pac-Gum of a cell, whether or not it has been eaten.
+     *
+     * @param g Graphics object used for rendering.
+     * @param cell The cell of the Super Pac-Gum.
+     */
+    public void renderSuperPacGum(Graphics2D g, int cell) {
+        g.setColor(PELLET_COLOR);
+        g.fillOval(cell % width * cellDimension, cell / width * cellDimension, SUPER_PAC_GUM_SIZE, SUPER_PAC_GUM_SIZE);
+    }
+
+    /**
+     * Copy a window of a bitboard row by row, up to 64 bits at a time.
+     */
+    private void copyWindow(long[] bitboard, int cellX, int cellY, int columns, int rows, long[] target) {
+        int wordCount = getWordCount(columns, rows);
+        if (cellX == 0 && columns == width && (cellY * width & 63) == 0) {
+            // Whole rows starting on a word are a contiguous run of words of the bitboard
+            System.arraycopy(bitboard, cellY * width >>> 6, target, 0, wordCount);
+            int tail = columns * rows & 63;
+            if (tail != 0) {
+                // Clear the cells of the rows below the window sharing the last word
+                target[wordCount - 1] &= (1L << tail) - 1;
+            }
+            return;
+        }
+        Arrays.fill(target, 0, wordCount, 0L);
+        for (int row = 0; row < rows; row++) {
+            int source = (cellY + row) * width + cellX;
+            int destination = row * columns;
+            for (int column = 0; column < columns; column += 64) {
+                int length = Math.min(64, columns - column);
+                writeBits(target, destination + column, length, readBits(bitboard, source + column, length));
+            }
+        }
+    }
+
+    private static long readBits(long[] bitboard, int position, int length) {
+        int word = position >>> 6;
+        int bit = position & 63;
+        long bits = bitboard[word] >>> bit;
+        if (bit != 0 && bit + length > 64) {
+            bits |= bitboard[word + 1] << (64 - bit);
+        }
+        return length == 64 ? bits : bits & ((1L << length) - 1);
+    }
+
+    private static void writeBits(long[] bitboard, int position, int length, long bits) {
+        int word = position >>> 6;
+        int bit = position & 63;
+        bitboard[word] |= bits << bit;
+        if (bit != 0 && bit + length > 64) {
+            bitboard[word + 1] |= bits >>> (64 - bit);
+        }
+    }
+
+    private int addPacGum(int cellX, int cellY, int[] result, int count) {
+        int cell = toCell(cellX, cellY);
+        if (cell >= 0 && isSet(pacGums, cell)) {
+            result[count++] = cell;
+        }
+        return count;
+    }
+
+    private int toCell(int cellX, int cellY) {
+        if (cellX < 0 || cellX >= width || cellY < 0 || cellY >= height) {
+            return -1;
+        }
+        return cellY * width + cellX;
+    }
+
+    private static boolean isSet(long[] bitboard, int cell) {
+        return (bitboard[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static int popCount(long[] bitboard) {
+        int count = 0;
+        for (long word : bitboard) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
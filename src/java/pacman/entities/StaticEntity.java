@@ -14,12 +14,14 @@ public abstract class StaticEntity extends Entity {
     /**
      * Constructor to initialize a static entity.
      *
+     * @param store The store holding the components of the entity.
+     * @param flags The {@link EntityStore} flags of the entity.
      * @param size Size of the entity.
      * @param xPos X position of the entity.
      * @param yPos Y position of the entity.
      */
-    public StaticEntity(int size, int xPos, int yPos) {
-        super(size, xPos, yPos);
+    public StaticEntity(EntityStore store, int flags, int size, int xPos, int yPos) {
+        super(store, flags, size, xPos, yPos);
         this.hitbox = new Rectangle(xPos, yPos, size, size);
     }
 
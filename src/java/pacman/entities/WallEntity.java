@@ -9,10 +9,23 @@ public class WallEntity extends StaticEntity {
     /**
      * Constructor to initialize a wall entity.
      *
+     * @param store The store holding the components of the wall.
      * @param xPos X position of the wall.
      * @param yPos Y position of the wall.
      */
-    public WallEntity(int xPos, int yPos) {
-        super(8, xPos, yPos);
+    public WallEntity(EntityStore store, int xPos, int yPos) {
+        this(store, EntityStore.WALL, xPos, yPos);
+    }
+
+    /**
+     * Constructor to initialize a wall entity with specific flags.
+     *
+     * @param store The store holding the components of the wall.
+     * @param flags The {@link EntityStore} flags of the wall.
+     * @param xPos X position of the wall.
+     * @param yPos Y position of the wall.
+     */
+    protected WallEntity(EntityStore store, int flags, int xPos, int yPos) {
+        super(store, flags, 8, xPos, yPos);
     }
 }
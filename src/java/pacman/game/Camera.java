@@ -0,0 +1,75 @@
+package pacman.game;
+
+/**
+ * Class representing the camera of the game view: the area of the world shown on screen.
+ * The size of the screen is decoupled from the size of the world. When the world is larger than the screen, the
+ * camera follows Pacman, keeping it centered until the view reaches an edge of the world; along an axis where the
+ * whole world fits on screen, the view stays at the origin.
+ * The camera is moved by the game thread, its position is handed to the render thread in {@link FrameSnapshot}s.
+ */
+public class Camera {
+    private final int viewWidth;
+    private final int viewHeight;
+    private final int worldWidth;
+    private final int worldHeight;
+
+    // Top-left corner of the view in the world, in pixels
+    private int x;
+    private int y;
+
+    /**
+     * Constructor to initialize a camera at the origin of the world.
+     *
+     * @param viewWidth Width of the view in pixels.
+     * @param viewHeight Height of the view in pixels.
+     * @param worldWidth Width of the world in pixels.
+     * @param worldHeight Height of the world in pixels.
+     */
+    public Camera(int viewWidth, int viewHeight, int worldWidth, int worldHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    /**
+     * Center the view on an entity, keeping the view within the world.
+     *
+     * @param targetX X position of the entity.
+     * @param targetY Y position of the entity.
+     * @param targetSize Size of the entity.
+     */
+    public void follow(int targetX, int targetY, int targetSize) {
+        x = clamp(targetX + targetSize / 2 - viewWidth / 2, worldWidth - viewWidth);
+        y = clamp(targetY + targetSize / 2 - viewHeight / 2, worldHeight - viewHeight);
+    }
+
+    /**
+     * Check if the world is larger than the view, so the view scrolls along at least one axis.
+     *
+     * @return True if the camera scrolls, false if the whole world is always shown.
+     */
+    public boolean isScrolling() {
+        return worldWidth > viewWidth || worldHeight > viewHeight;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getViewWidth() {
+        return viewWidth;
+    }
+
+    public int getViewHeight() {
+        return viewHeight;
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+}
@@ -0,0 +1,188 @@
+package pacman.game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import pacman.entities.PelletField;
+import pacman.helpers.SpriteAtlas;
+
+/**
+ * Class rendering snapshots of the game into a persistent frame, only repainting the regions that changed.
+ * Regions are marked dirty when a moving entity changes position or sprite frame, or is destroyed,
+ * when a Pac-Gum is eaten, and when the Super Pac-Gums blink or are eaten. Under every dirty region the
+ * maze layer is restored and the Super Pac-Gums and sprites crossing the region are drawn again.
+ * When too many regions are dirty, or the game session was restarted, the whole frame is redrawn instead.
+ * The renderer only reads {@link FrameSnapshot}s, so it can run on its own thread while the game is updated.
+ */
+public class DirtyRegionRenderer implements FrameRenderer {
+    // Number of dirty regions above which the whole frame is redrawn
+    private static final int MAX_DIRTY_REGIONS = 24;
+
+    private final MazeLayer mazeLayer;
+    private final BufferedImage frame;
+    private final Graphics2D frameGraphics;
+    private final DirtyRegions dirtyRegions;
+    private final Rectangle bounds = new Rectangle();
+
+    // Generation of the snapshot drawn in the frame, and the position and sprite of its moving entities
+    private int drawnGeneration = -1;
+    private int[] drawnX = new int[0];
+    private int[] drawnY = new int[0];
+    private int[] drawnSpriteIds = new int[0];
+    private boolean[] drawnDestroyed = new boolean[0];
+
+    // Super Pac-Gums drawn in the frame
+    private long[] drawnSuperPacGums = new long[0];
+    private boolean drawnSuperPacGumVisible;
+
+    private boolean fullRedraw = true;
+
+    /**
+     * Constructor to initialize the renderer for a game view.
+     *
+     * @param mazeLayer The static layer of the maze.
+     * @param width Width of the game view.
+     * @param height Height of the game view.
+     */
+    public DirtyRegionRenderer(MazeLayer mazeLayer, int width, int height) {
+        this.mazeLayer = mazeLayer;
+        this.frame = SpriteAtlas.createCompatibleImage(width, height, Transparency.OPAQUE);
+        this.frameGraphics = frame.createGraphics();
+        this.dirtyRegions = new DirtyRegions(width, height, MAX_DIRTY_REGIONS);
+    }
+
+    @Override
+    public void render(FrameSnapshot snapshot) {
+        dirtyRegions.clear();
+        if (fullRedraw || snapshot.getGeneration() != drawnGeneration) {
+            // The first frame, or a restarted game session
+            dirtyRegions.addAll();
+            drawnGeneration = snapshot.getGeneration();
+            fullRedraw = false;
+        }
+        mazeLayer.update(snapshot.getPelletField(), snapshot.getPacGums(), dirtyRegions);
+        trackSuperPacGums(snapshot);
+        trackEntities(snapshot);
+
+        if (dirtyRegions.isOverflow()) {
+            frameGraphics.setClip(null);
+            drawScene(snapshot);
+            return;
+        }
+        for (int i = 0; i < dirtyRegions.getCount(); i++) {
+            frameGraphics.setClip(dirtyRegions.get(i));
+            drawScene(snapshot);
+        }
+        frameGraphics.setClip(null);
+    }
+
+    /**
+     * Copy the frame onto a back buffer, only the regions that changed when the back buffer still holds the previous
+     * frame.
+     *
+     * @param g The graphics context of the back buffer.
+     * @param backBufferValid True if the back buffer still holds the previous frame.
+     */
+    @Override
+    public void present(Graphics2D g, boolean backBufferValid) {
+        if (!backBufferValid || dirtyRegions.isOverflow()) {
+            g.drawImage(frame, 0, 0, null);
+            return;
+        }
+        for (int i = 0; i < dirtyRegions.getCount(); i++) {
+            Rectangle region = dirtyRegions.get(i);
+            g.drawImage(frame, region.x, region.y, region.x + region.width, region.y + region.height, region.x,
+                    region.y, region.x + region.width, region.y + region.height, null);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    /**
+     * Get the number of regions repainted by the last render.
+     *
+     * @return The number of dirty regions, or -1 if the whole frame was redrawn.
+     */
+    public int getDirtyRegionCount() {
+        return dirtyRegions.isOverflow() ? -1 : dirtyRegions.getCount();
+    }
+
+    /**
+     * Draw the scene within the current clip of the frame: the maze layer, the blinking Super Pac-Gums,
+     * Pacman and the ghosts.
+     */
+    private void drawScene(FrameSnapshot snapshot) {
+        mazeLayer.draw(frameGraphics);
+        if (snapshot.isSuperPacGumVisible()) {
+            snapshot.getPelletField().renderSuperPacGums(frameGraphics, snapshot.getSuperPacGums());
+        }
+        for (int i = 0; i < snapshot.getEntityCount(); i++) {
+            if (!snapshot.isDestroyed(i)) {
+                frameGraphics.drawImage(SpriteAtlas.getSprite(snapshot.getSpriteId(i)), snapshot.getX(i),
+                        snapshot.getY(i), null);
+            }
+        }
+    }
+
+    /**
+     * Mark the Super Pac-Gums that blinked or were eaten since the last frame.
+     */
+    private void trackSuperPacGums(FrameSnapshot snapshot) {
+        PelletField pelletField = snapshot.getPelletField();
+        long[] superPacGums = snapshot.getSuperPacGums();
+        if (drawnSuperPacGums.length != superPacGums.length) {
+            drawnSuperPacGums = new long[superPacGums.length];
+            dirtyRegions.addAll();
+        }
+        boolean visible = snapshot.isSuperPacGumVisible();
+        for (int word = 0; word < drawnSuperPacGums.length; word++) {
+            long bits = superPacGums[word];
+            // Drawn Super Pac-Gums that are gone, plus every Super Pac-Gum when the blink toggled
+            long changed = (bits ^ drawnSuperPacGums[word]) & (drawnSuperPacGumVisible ? drawnSuperPacGums[word] : 0);
+            if (visible != drawnSuperPacGumVisible) {
+                changed |= bits | drawnSuperPacGums[word];
+            }
+            while (changed != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(changed);
+                changed &= changed - 1;
+                pelletField.getSuperPacGumBounds(cell, bounds);
+                dirtyRegions.add(bounds);
+            }
+            drawnSuperPacGums[word] = bits;
+        }
+        drawnSuperPacGumVisible = visible;
+    }
+
+    /**
+     * Mark the old and new areas of the moving entities that moved, changed sprite frame or were destroyed.
+     */
+    private void trackEntities(FrameSnapshot snapshot) {
+        int count = snapshot.getEntityCount();
+        if (drawnX.length != count) {
+            drawnX = new int[count];
+            drawnY = new int[count];
+            drawnSpriteIds = new int[count];
+            drawnDestroyed = new boolean[count];
+            dirtyRegions.addAll();
+        }
+        for (int i = 0; i < count; i++) {
+            int x = snapshot.getX(i);
+            int y = snapshot.getY(i);
+            int spriteId = snapshot.getSpriteId(i);
+            boolean destroyed = snapshot.isDestroyed(i);
+            if (x == drawnX[i] && y == drawnY[i] && spriteId == drawnSpriteIds[i] && destroyed == drawnDestroyed[i]) {
+                continue;
+            }
+            int size = snapshot.getSize(i);
+            dirtyRegions.add(drawnX[i], drawnY[i], size, size);
+            dirtyRegions.add(x, y, size, size);
+            drawnX[i] = x;
+            drawnY[i] = y;
+            drawnSpriteIds[i] = spriteId;
+            drawnDestroyed[i] = destroyed;
+        }
+    }
+}
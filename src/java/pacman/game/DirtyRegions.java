@@ -0,0 +1,119 @@
+package pacman.game;
+
+import java.awt.Rectangle;
+
+/**
+ * Class collecting the regions of the game view that changed since the last frame.
+ * Regions are clipped to the view and merged with the regions they overlap. The rectangles are preallocated:
+ * when more regions are added than the capacity, the collection overflows and a full redraw is expected instead.
+ */
+public class DirtyRegions {
+    private final int viewWidth;
+    private final int viewHeight;
+    private final Rectangle[] regions;
+    private int count = 0;
+    private boolean overflow = false;
+
+    /**
+     * Constructor to initialize the dirty regions of a view.
+     *
+     * @param viewWidth Width of the view in pixels.
+     * @param viewHeight Height of the view in pixels.
+     * @param capacity The maximum number of regions before a full redraw is preferred.
+     */
+    public DirtyRegions(int viewWidth, int viewHeight, int capacity) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.regions = new Rectangle[capacity];
+        for (int i = 0; i < capacity; i++) {
+            regions[i] = new Rectangle();
+        }
+    }
+
+    /**
+     * Mark a region as dirty.
+     *
+     * @param x X position of the region.
+     * @param y Y position of the region.
+     * @param width Width of the region.
+     * @param height Height of the region.
+     */
+    public void add(int x, int y, int width, int height) {
+        if (overflow) {
+            return;
+        }
+        int left = Math.max(x, 0);
+        int top = Math.max(y, 0);
+        int right = Math.min(x + width, viewWidth);
+        int bottom = Math.min(y + height, viewHeight);
+        if (left >= right || top >= bottom) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            Rectangle region = regions[i];
+            if (left <= region.x + region.width && region.x <= right && top <= region.y + region.height
+                    && region.y <= bottom) {
+                // Merge into the overlapping region, the merged region may now overlap others, which is harmless
+                int mergedRight = Math.max(right, region.x + region.width);
+                int mergedBottom = Math.max(bottom, region.y + region.height);
+                region.x = Math.min(left, region.x);
+                region.y = Math.min(top, region.y);
+                region.width = mergedRight - region.x;
+                region.height = mergedBottom - region.y;
+                return;
+            }
+        }
+        if (count == regions.length) {
+            overflow = true;
+            return;
+        }
+        regions[count++].setBounds(left, top, right - left, bottom - top);
+    }
+
+    /**
+     * Mark a region as dirty.
+     *
+     * @param region The dirty region.
+     */
+    public void add(Rectangle region) {
+        add(region.x, region.y, region.width, region.height);
+    }
+
+    /**
+     * Mark the whole view as dirty.
+     */
+    public void addAll() {
+        overflow = true;
+    }
+
+    /**
+     * Forget every dirty region.
+     */
+    public void clear() {
+        count = 0;
+        overflow = false;
+    }
+
+    /**
+     * Check if too many regions are dirty, or the whole view, so the view should be fully redrawn.
+     *
+     * @return True if a full redraw is needed, false otherwise.
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get a dirty region.
+     *
+     * @param index The index of the region, below {@link #getCount()}.
+     * @return The dirty region.
+     */
+    public Rectangle get(int index) {
+        return regions[index];
+    }
+}
@@ -0,0 +1,398 @@
+package pacman.game;
+
+import java.awt.*;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import pacman.helpers.LatencyHistogram;
+
+/**
+ * Class measuring where the time of the game loops goes, phase by phase.
+ * The duration of every input sampling, update, render, present and sleep is recorded into a latency histogram,
+ * along with the number of updates run between two rendered frames, the deadlines missed and the updates dropped by
+ * the pacing of the loops, per interval and since the loops started, and the rollouts of the autopilot when it plays.
+ * Once per report interval the histograms are summarized (p50, p99 and max), shown by the overlay, appended to the
+ * CSV file when one is set, then reset.
+ * The input and update phases belong to the simulation thread, which summarizes them on its own and hands the
+ * summary over to the render thread; the other phases and the overlay belong to the render thread. The rows of the
+ * CSV file are formatted by the render thread and handed to a background thread that writes them, so the loops never
+ * wait on the disk.
+ */
+public class FrameProfiler {
+    public static final int PHASE_INPUT = 0;
+    public static final int PHASE_UPDATE = 1;
+    public static final int PHASE_RENDER = 2;
+    public static final int PHASE_PRESENT = 3;
+    public static final int PHASE_SLEEP = 4;
+    public static final int PHASE_COUNT = 5;
+
+    private static final String[] PHASE_NAMES = {"input", "update", "render", "present", "sleep"};
+
+    // Phases timed by the simulation thread, the following ones are timed by the render thread
+    private static final int SIMULATION_PHASE_COUNT = 2;
+
+    // Layout of a summary: the counters of the interval, the totals of the loop pacer, then the count, p50, p99 and
+    // max of every phase
+    private static final int SUMMARY_PERIODS = 0;
+    private static final int SUMMARY_MISSED = 1;
+    private static final int SUMMARY_DROPPED = 2;
+    private static final int SUMMARY_TOTAL_MISSED = 3;
+    private static final int SUMMARY_TOTAL_DROPPED = 4;
+    private static final int SUMMARY_NANOS = 5;
+    private static final int SUMMARY_ROLLOUTS = 6;
+    private static final int SUMMARY_SEARCH_NANOS = 7;
+    private static final int SUMMARY_PHASES = 8;
+    private static final int SUMMARY_LENGTH = SUMMARY_PHASES + PHASE_COUNT * 4;
+
+    // Duration of a report interval in nanoseconds
+    private static final long REPORT_INTERVAL = 1_000_000_000L;
+
+    // Number of rows written to the CSV file before it is rolled over to a backup file
+    private static final int MAX_CSV_ROWS = 3600;
+
+    // Number of rows waiting for the CSV writer thread, rows are dropped if it falls this far behind
+    private static final int CSV_QUEUE_CAPACITY = 64;
+
+    // Largest number of updates per frame counted on its own, more updates are counted with it
+    private static final int MAX_UPDATES_PER_FRAME = 15;
+
+    private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private static final int OVERLAY_WIDTH = 320;
+    private static final int OVERLAY_LINE_HEIGHT = 12;
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASE_COUNT];
+
+    // Interval of the simulation thread, and its last summary handed over to the render thread
+    private long tickCount;
+    private long lateTicks;
+    private long droppedUpdates;
+    private long tickIntervalStart;
+    private volatile long[] simulationSummary = new long[SUMMARY_LENGTH];
+
+    // Totals of the autopilot as of the last tick and at the start of the interval, 0 when it does not play
+    private long rolloutTotal;
+    private long searchNanosTotal;
+    private long intervalRolloutTotal;
+    private long intervalSearchNanosTotal;
+
+    // Interval of the render thread
+    private final long[] updatesPerFrame = new long[MAX_UPDATES_PER_FRAME + 1];
+    private long frameCount;
+    private long missedFrames;
+    private long frameIntervalStart;
+    private final long[] frameSummary = new long[SUMMARY_LENGTH];
+
+    // Lines of the last report, rebuilt once per interval and drawn by the overlay every frame
+    private final String[] overlayLines = new String[PHASE_COUNT + 4];
+    private volatile boolean overlayVisible = false;
+
+    // CSV file, written by its own thread from a queue of rows; the writer and the row count belong to that thread
+    private String csvPath;
+    private BlockingQueue<String> csvQueue;
+    private volatile boolean csvFailed = false;
+    private BufferedWriter csvWriter;
+    private int csvRows;
+
+    /**
+     * Constructor to initialize an empty profiler, the first report interval starts now.
+     */
+    public FrameProfiler() {
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            histograms[phase] = new LatencyHistogram();
+        }
+        overlayLines[0] = "measuring...";
+        tickIntervalStart = System.nanoTime();
+        frameIntervalStart = tickIntervalStart;
+    }
+
+    /**
+     * Append a row of the reports to a CSV file. The file is rolled over to a backup file every hour.
+     *
+     * @param csvPath The path of the CSV file, overwritten when the profiler starts writing to it.
+     */
+    public void setCsvPath(String csvPath) {
+        this.csvPath = csvPath;
+    }
+
+    /**
+     * Show or hide the overlay. Can be called from any thread.
+     */
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    /**
+     * Check if the overlay is shown.
+     *
+     * @return True if the overlay is drawn over the frames, false otherwise.
+     */
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    /**
+     * Record the duration of a phase, from the thread the phase belongs to.
+     *
+     * @param phase The phase, one of the PHASE constants.
+     * @param nanos The duration of the phase in nanoseconds.
+     */
+    public void record(int phase, long nanos) {
+        histograms[phase].record(nanos);
+    }
+
+    /**
+     * Record the totals of the autopilot, whose rate over the interval is reported. Must be called by the simulation
+     * thread.
+     *
+     * @param rolloutCount The number of rollouts the autopilot completed since it was created.
+     * @param searchNanos The time the autopilot spent searching since it was created, in nanoseconds.
+     */
+    public void recordAutopilot(long rolloutCount, long searchNanos) {
+        rolloutTotal = rolloutCount;
+        searchNanosTotal = searchNanos;
+    }
+
+    /**
+     * Count the updates run by a pass of the simulation loop, and summarize its interval when it is over.
+     * Must be called by the simulation thread.
+     *
+     * @param updateCount The number of updates run by the pass.
+     * @param deadlineMissed Whether the updates ended after the next update deadline.
+     * @param pacer The pacer of the simulation loop, giving the updates dropped by the pass and the totals.
+     * @param now The current time in nanoseconds.
+     */
+    public void endTicks(int updateCount, boolean deadlineMissed, LoopPacer pacer, long now) {
+        tickCount += updateCount;
+        droppedUpdates += pacer.getDropped();
+        if (deadlineMissed) {
+            lateTicks++;
+        }
+        if (now - tickIntervalStart >= REPORT_INTERVAL) {
+            long[] summary = new long[SUMMARY_LENGTH];
+            summary[SUMMARY_PERIODS] = tickCount;
+            summary[SUMMARY_MISSED] = lateTicks;
+            summary[SUMMARY_DROPPED] = droppedUpdates;
+            summary[SUMMARY_TOTAL_MISSED] = pacer.getMissedDeadlineCount();
+            summary[SUMMARY_TOTAL_DROPPED] = pacer.getDroppedCount();
+            summary[SUMMARY_NANOS] = now - tickIntervalStart;
+            summary[SUMMARY_ROLLOUTS] = rolloutTotal - intervalRolloutTotal;
+            summary[SUMMARY_SEARCH_NANOS] = searchNanosTotal - intervalSearchNanosTotal;
+            summarizePhases(0, SIMULATION_PHASE_COUNT, summary);
+            simulationSummary = summary;
+
+            tickCount = 0;
+            lateTicks = 0;
+            droppedUpdates = 0;
+            intervalRolloutTotal = rolloutTotal;
+            intervalSearchNanosTotal = searchNanosTotal;
+            tickIntervalStart = now;
+        }
+    }
+
+    /**
+     * Count a rendered frame, and report the interval when it is over. Must be called by the render thread.
+     *
+     * @param updateCount The number of updates run since the previous frame was rendered.
+     * @param deadlineMissed Whether the frame was presented after its deadline.
+     * @param pacer The pacer of the render loop, giving the total of missed frames.
+     * @param now The current time in nanoseconds.
+     */
+    public void endFrame(int updateCount, boolean deadlineMissed, LoopPacer pacer, long now) {
+        updatesPerFrame[Math.min(updateCount, MAX_UPDATES_PER_FRAME)]++;
+        frameCount++;
+        if (deadlineMissed) {
+            missedFrames++;
+        }
+        if (now - frameIntervalStart >= REPORT_INTERVAL) {
+            frameSummary[SUMMARY_TOTAL_MISSED] = pacer.getMissedDeadlineCount();
+            report(now);
+        }
+    }
+
+    /**
+     * Draw the last report in the top-left corner of a graphics context. The overlay is opaque, so it can be drawn
+     * over the previous one without clearing it.
+     *
+     * @param graphics The graphics context to draw onto.
+     */
+    public void drawOverlay(Graphics2D graphics) {
+        graphics.setColor(Color.black);
+        graphics.fillRect(0, 0, OVERLAY_WIDTH, overlayLines.length * OVERLAY_LINE_HEIGHT + 4);
+        graphics.setFont(OVERLAY_FONT);
+        graphics.setColor(Color.white);
+        for (int line = 0; line < overlayLines.length; line++) {
+            if (overlayLines[line] != null) {
+                graphics.drawString(overlayLines[line], 4, (line + 1) * OVERLAY_LINE_HEIGHT);
+            }
+        }
+    }
+
+    /**
+     * Summarize the interval of the render thread along with the last summary of the simulation thread,
+     * then start the next interval.
+     */
+    private void report(long now) {
+        frameSummary[SUMMARY_PERIODS] = frameCount;
+        frameSummary[SUMMARY_MISSED] = missedFrames;
+        frameSummary[SUMMARY_NANOS] = now - frameIntervalStart;
+        summarizePhases(SIMULATION_PHASE_COUNT, PHASE_COUNT, frameSummary);
+        long[] simulation = simulationSummary;
+        System.arraycopy(simulation, SUMMARY_PHASES, frameSummary, SUMMARY_PHASES, SIMULATION_PHASE_COUNT * 4);
+
+        long updateCount = 0;
+        int maxUpdates = 0;
+        for (int updates = 0; updates <= MAX_UPDATES_PER_FRAME; updates++) {
+            updateCount += updates * updatesPerFrame[updates];
+            if (updatesPerFrame[updates] > 0) {
+                maxUpdates = updates;
+            }
+        }
+        double fps = getRate(frameSummary);
+        double ups = getRate(simulation);
+        double meanUpdates = frameCount == 0 ? 0 : (double) updateCount / frameCount;
+        double rollouts = simulation[SUMMARY_NANOS] == 0 ? 0
+                : simulation[SUMMARY_ROLLOUTS] * 1e9 / simulation[SUMMARY_NANOS];
+        double searchRollouts = simulation[SUMMARY_SEARCH_NANOS] == 0 ? 0
+                : simulation[SUMMARY_ROLLOUTS] * 1e9 / simulation[SUMMARY_SEARCH_NANOS];
+
+        overlayLines[0] = String.format("fps %5.1f  ups %5.1f  updates/frame %.2f max %d", fps, ups, meanUpdates,
+                maxUpdates);
+        overlayLines[1] = String.format("missed frames %d updates %d  dropped %d", missedFrames,
+                simulation[SUMMARY_MISSED], simulation[SUMMARY_DROPPED]);
+        overlayLines[2] = String.format("total missed frames %d updates %d  dropped %d",
+                frameSummary[SUMMARY_TOTAL_MISSED], simulation[SUMMARY_TOTAL_MISSED],
+                simulation[SUMMARY_TOTAL_DROPPED]);
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            int offset = SUMMARY_PHASES + phase * 4;
+            overlayLines[phase + 3] = String.format("%-7s p50 %6.2f p99 %6.2f max %6.2f ms", PHASE_NAMES[phase],
+                    frameSummary[offset + 1] / 1e6, frameSummary[offset + 2] / 1e6, frameSummary[offset + 3] / 1e6);
+        }
+        overlayLines[PHASE_COUNT + 3] = simulation[SUMMARY_SEARCH_NANOS] == 0 ? null
+                : String.format("autopilot %.0f rollouts/s  %.0f while searching", rollouts, searchRollouts);
+        if (csvPath != null && !csvFailed) {
+            queueCsvRow(fps, ups, meanUpdates, maxUpdates, rollouts, searchRollouts, simulation);
+        }
+
+        Arrays.fill(updatesPerFrame, 0);
+        frameCount = 0;
+        missedFrames = 0;
+        frameIntervalStart = now;
+    }
+
+    /**
+     * Copy the count, p50, p99 and max of a range of phases into a summary, then reset their histograms.
+     */
+    private void summarizePhases(int firstPhase, int endPhase, long[] summary) {
+        for (int phase = firstPhase; phase < endPhase; phase++) {
+            LatencyHistogram histogram = histograms[phase];
+            int offset = SUMMARY_PHASES + phase * 4;
+            summary[offset] = histogram.getCount();
+            summary[offset + 1] = histogram.getPercentile(0.5);
+            summary[offset + 2] = histogram.getPercentile(0.99);
+            summary[offset + 3] = histogram.getMax();
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Get the number of periods per second of a summary.
+     */
+    private static double getRate(long[] summary) {
+        return summary[SUMMARY_NANOS] == 0 ? 0 : summary[SUMMARY_PERIODS] * 1e9 / summary[SUMMARY_NANOS];
+    }
+
+    /**
+     * Format the summary of the interval as a CSV row, with the durations in microseconds, and hand it to the CSV
+     * writer thread, which is started with the first row.
+     */
+    private void queueCsvRow(double fps, double ups, double meanUpdates, int maxUpdates, double rollouts,
+            double searchRollouts, long[] simulation) {
+        if (csvQueue == null) {
+            csvQueue = new ArrayBlockingQueue<>(CSV_QUEUE_CAPACITY);
+            Thread writerThread = new Thread(this::writeCsvRows, "ProfilerCsvWriter");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+        StringBuilder row = new StringBuilder(200);
+        row.append(System.currentTimeMillis())
+                .append(',').append(String.format(Locale.ROOT, "%.1f", fps))
+                .append(',').append(String.format(Locale.ROOT, "%.1f", ups))
+                .append(',').append(String.format(Locale.ROOT, "%.2f", meanUpdates))
+                .append(',').append(maxUpdates)
+                .append(',').append(missedFrames)
+                .append(',').append(simulation[SUMMARY_MISSED])
+                .append(',').append(simulation[SUMMARY_DROPPED])
+                .append(',').append(frameSummary[SUMMARY_TOTAL_MISSED])
+                .append(',').append(simulation[SUMMARY_TOTAL_MISSED])
+                .append(',').append(simulation[SUMMARY_TOTAL_DROPPED]);
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            int offset = SUMMARY_PHASES + phase * 4;
+            row.append(',').append(frameSummary[offset])
+                    .append(',').append(frameSummary[offset + 1] / 1000)
+                    .append(',').append(frameSummary[offset + 2] / 1000)
+                    .append(',').append(frameSummary[offset + 3] / 1000);
+        }
+        row.append(',').append(String.format(Locale.ROOT, "%.0f", rollouts))
+                .append(',').append(String.format(Locale.ROOT, "%.0f", searchRollouts));
+        // Never blocks, a row is dropped rather than delaying the frame
+        csvQueue.offer(row.toString());
+    }
+
+    /**
+     * The loop of the CSV writer thread, which appends the queued rows to the CSV file and flushes it once the queue
+     * is drained. The profiler stops writing after the first error.
+     */
+    private void writeCsvRows() {
+        try {
+            while (true) {
+                String row = csvQueue.take();
+                if (csvWriter == null || csvRows >= MAX_CSV_ROWS) {
+                    openCsvFile();
+                }
+                csvWriter.write(row);
+                csvWriter.newLine();
+                csvRows++;
+                if (csvQueue.isEmpty()) {
+                    csvWriter.flush();
+                }
+            }
+        } catch (IOException ioException) {
+            System.err.println("ERROR writing the frame timings to " + csvPath + ": " + ioException.getMessage());
+            csvFailed = true;
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Start a new CSV file with its header, the full file is kept as a backup with a .1 suffix.
+     */
+    private void openCsvFile() throws IOException {
+        if (csvWriter != null) {
+            csvWriter.close();
+            File backup = new File(csvPath + ".1");
+            backup.delete();
+            new File(csvPath).renameTo(backup);
+        }
+        csvWriter = new BufferedWriter(new FileWriter(csvPath));
+        StringBuilder header = new StringBuilder("time_ms,fps,ups,updates_per_frame_mean,updates_per_frame_max"
+                + ",missed_frames,missed_updates,dropped_updates,total_missed_frames,total_missed_updates"
+                + ",total_dropped_updates");
+        for (String phase : PHASE_NAMES) {
+            header.append(',').append(phase).append("_count")
+                    .append(',').append(phase).append("_p50_us")
+                    .append(',').append(phase).append("_p99_us")
+                    .append(',').append(phase).append("_max_us");
+        }
+        header.append(",autopilot_rollouts_per_s,autopilot_search_rollouts_per_s");
+        csvWriter.write(header.toString());
+        csvWriter.newLine();
+        csvRows = 0;
+    }
+}
@@ -0,0 +1,30 @@
+package pacman.game;
+
+import java.awt.*;
+
+/**
+ * Interface for the renderers drawing {@link FrameSnapshot}s of the game into a frame of the size of the game view.
+ * A renderer is only used by the render thread: it brings its frame up to date with a snapshot, then copies the frame
+ * onto the back buffer, possibly several times when the contents of the back buffer are lost.
+ */
+public interface FrameRenderer {
+    /**
+     * Bring the frame up to date with a snapshot of the game.
+     *
+     * @param snapshot The snapshot to render.
+     */
+    void render(FrameSnapshot snapshot);
+
+    /**
+     * Copy the frame onto a back buffer.
+     *
+     * @param g The graphics context of the back buffer.
+     * @param backBufferValid True if the back buffer still holds the previous frame.
+     */
+    void present(Graphics2D g, boolean backBufferValid);
+
+    /**
+     * Redraw the whole frame at the next render, for instance after the game was restarted.
+     */
+    void invalidate();
+}
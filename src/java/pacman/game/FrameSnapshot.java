@@ -0,0 +1,242 @@
+package pacman.game;
+
+import java.util.List;
+
+import pacman.entities.EntityStore;
+import pacman.entities.MovingEntity;
+import pacman.entities.PelletField;
+import pacman.ghosts.Ghost;
+
+/**
+ * Class holding what the renderer needs to draw a tick of a game session, copied into primitive arrays.
+ * The simulation thread captures a snapshot after its updates and publishes it through a
+ * {@link pacman.helpers.TripleBuffer}; once published, a snapshot is only read by the render thread until it is
+ * handed back for a later capture, so neither thread ever sees the other one writing.
+ * The moving entities are stored in drawing order: Pacman first, then the ghosts. The state of a ghost is folded into
+ * its sprite id, frightened and eaten ghosts being drawn from their own sprite sheets.
+ * A snapshot taken through a {@link Camera} only holds what is in its view: the entities crossing it, found by a
+ * query of the spatial grid, and the window of the Pac-Gum bitboards under it, so capturing a tick costs the same
+ * however large the world is. Without a camera the view is the whole world.
+ */
+public class FrameSnapshot {
+    // Number of times the session was restarted, a new value means every entity was replaced
+    private int generation = -1;
+    private long tickCount;
+
+    // Moving entities, the first entityCount slots of every array are used
+    private int entityCount;
+    private int[] x = new int[0];
+    private int[] y = new int[0];
+    private int[] size = new int[0];
+    private int[] direction = new int[0];
+    private int[] spriteId = new int[0];
+    private boolean[] destroyed = new boolean[0];
+
+    // Area of the world shown, in pixels
+    private int viewX;
+    private int viewY;
+    private int viewWidth;
+    private int viewHeight;
+
+    // Ids of the entities crossing the view, filled by the query of the spatial grid
+    private int[] visibleIds = new int[0];
+
+    // Level and pellet field of the session, only used for the layout of the cells; its bitboards are copied below
+    private Level level;
+    private PelletField pelletField;
+
+    // Window of the pellet field copied, in cells; bit i of the bitboards is the cell (x + i % columns, y + i / columns)
+    private int pelletX;
+    private int pelletY;
+    private int pelletColumns;
+    private int pelletRows;
+    private long[] pacGums = new long[0];
+    private long[] superPacGums = new long[0];
+    private boolean superPacGumVisible;
+
+    /**
+     * Copy the drawable state of a game session into the snapshot, the view being the whole world.
+     *
+     * @param session The game session to capture.
+     */
+    public void capture(GameSession session) {
+        capture(session, null);
+    }
+
+    /**
+     * Copy the drawable state of a game session in the view of a camera into the snapshot.
+     * Every moving entity gets a slot when there is no camera, destroyed or not, so the slots always hold the same
+     * entities; through a camera only the entities crossing the view are stored.
+     *
+     * @param session The game session to capture.
+     * @param camera The camera giving the view, or null to capture the whole world.
+     */
+    public void capture(GameSession session, Camera camera) {
+        generation = session.getRestartCount();
+        tickCount = session.getTickCount();
+        level = session.getLevel();
+        if (camera == null) {
+            viewX = 0;
+            viewY = 0;
+            viewWidth = level.getWorldWidth();
+            viewHeight = level.getWorldHeight();
+        } else {
+            viewX = camera.getX();
+            viewY = camera.getY();
+            viewWidth = camera.getViewWidth();
+            viewHeight = camera.getViewHeight();
+        }
+
+        List<Ghost> ghosts = session.getGhostEntities();
+        int capacity = ghosts.size() + 1;
+        if (x.length < capacity) {
+            x = new int[capacity];
+            y = new int[capacity];
+            size = new int[capacity];
+            direction = new int[capacity];
+            spriteId = new int[capacity];
+            destroyed = new boolean[capacity];
+        }
+        EntityStore store = session.getEntityStore();
+        if (camera == null) {
+            entityCount = capacity;
+            for (int i = 0; i < entityCount; i++) {
+                MovingEntity entity = i == 0 ? session.getPacmanEntity() : ghosts.get(i - 1);
+                captureEntity(store, i, entity);
+            }
+        } else {
+            if (visibleIds.length < store.getCount()) {
+                visibleIds = new int[store.getCount()];
+            }
+            entityCount = session.findVisibleEntities(viewX, viewY, viewWidth, viewHeight, visibleIds);
+            for (int i = 0; i < entityCount; i++) {
+                captureEntity(store, i, (MovingEntity) store.getView(visibleIds[i]));
+            }
+        }
+
+        pelletField = session.getPelletField();
+        if (camera == null) {
+            pelletX = 0;
+            pelletY = 0;
+            pelletColumns = level.getWidth();
+            pelletRows = level.getHeight();
+        } else {
+            // Pac-Gums are drawn one cell right of and below their cell, Super Pac-Gums span two cells
+            pelletX = Math.max(0, Math.floorDiv(viewX, Level.CELL_DIMENSION) - 1);
+            pelletY = Math.max(0, Math.floorDiv(viewY, Level.CELL_DIMENSION) - 1);
+            pelletColumns = Math.min(level.getWidth(), Math.floorDiv(viewX + viewWidth - 1, Level.CELL_DIMENSION) + 1)
+                    - pelletX;
+            pelletRows = Math.min(level.getHeight(), Math.floorDiv(viewY + viewHeight - 1, Level.CELL_DIMENSION) + 1)
+                    - pelletY;
+        }
+        int wordCount = PelletField.getWordCount(pelletColumns, pelletRows);
+        if (pacGums.length < wordCount) {
+            pacGums = new long[wordCount];
+            superPacGums = new long[wordCount];
+        }
+        pelletField.copyPacGums(pelletX, pelletY, pelletColumns, pelletRows, pacGums);
+        pelletField.copySuperPacGums(pelletX, pelletY, pelletColumns, pelletRows, superPacGums);
+        superPacGumVisible = pelletField.isSuperPacGumVisible();
+    }
+
+    /**
+     * Copy a moving entity into a slot.
+     */
+    private void captureEntity(EntityStore store, int slot, MovingEntity entity) {
+        int id = entity.getId();
+        x[slot] = store.getX()[id];
+        y[slot] = store.getY()[id];
+        size[slot] = store.getSize()[id];
+        direction[slot] = store.getDirection()[id];
+        spriteId[slot] = entity.getCurrentSpriteId();
+        destroyed[slot] = (store.getFlags()[id] & EntityStore.DESTROYED) != 0;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    public int getX(int entity) {
+        return x[entity];
+    }
+
+    public int getY(int entity) {
+        return y[entity];
+    }
+
+    public int getSize(int entity) {
+        return size[entity];
+    }
+
+    public int getDirection(int entity) {
+        return direction[entity];
+    }
+
+    public int getSpriteId(int entity) {
+        return spriteId[entity];
+    }
+
+    public boolean isDestroyed(int entity) {
+        return destroyed[entity];
+    }
+
+    public int getViewX() {
+        return viewX;
+    }
+
+    public int getViewY() {
+        return viewY;
+    }
+
+    public int getViewWidth() {
+        return viewWidth;
+    }
+
+    public int getViewHeight() {
+        return viewHeight;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public PelletField getPelletField() {
+        return pelletField;
+    }
+
+    public int getPelletX() {
+        return pelletX;
+    }
+
+    public int getPelletY() {
+        return pelletY;
+    }
+
+    public int getPelletColumns() {
+        return pelletColumns;
+    }
+
+    public int getPelletRows() {
+        return pelletRows;
+    }
+
+    public long[] getPacGums() {
+        return pacGums;
+    }
+
+    public long[] getSuperPacGums() {
+        return superPacGums;
+    }
+
+    public boolean isSuperPacGumVisible() {
+        return superPacGumVisible;
+    }
+}
@@ -0,0 +1,53 @@
+package pacman.game;
+
+/**
+ * Class holding the encoding of the game events carried by a {@link GameEventQueue}.
+ * An event is a single long: its type in the high 32 bits and its value in the low 32 bits, so queuing an event
+ * never allocates.
+ */
+public final class GameEvent {
+    // No event, returned when a queue is empty
+    public static final long NONE = 0;
+
+    // Events of Pacman, applied by the game session: the value is a cell or the entity id of a ghost
+    public static final int PAC_GUM_EATEN = 1;
+    public static final int SUPER_PAC_GUM_EATEN = 2;
+    public static final int GHOST_COLLISION = 3;
+
+    // Events of the game session, shown by the HUD: the value is the new score or the new number of lives
+    public static final int SCORE_CHANGED = 4;
+    public static final int LIVES_CHANGED = 5;
+
+    private GameEvent() {}
+
+    /**
+     * Encode an event.
+     *
+     * @param type The type of the event.
+     * @param value The value of the event.
+     * @return The encoded event.
+     */
+    public static long encode(int type, int value) {
+        return (long) type << 32 | (value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the type of an encoded event.
+     *
+     * @param event The encoded event.
+     * @return The type of the event.
+     */
+    public static int getType(long event) {
+        return (int) (event >>> 32);
+    }
+
+    /**
+     * Get the value of an encoded event.
+     *
+     * @param event The encoded event.
+     * @return The value of the event.
+     */
+    public static int getValue(long event) {
+        return (int) event;
+    }
+}
@@ -0,0 +1,70 @@
+package pacman.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class representing a bounded queue of game events, stored in a preallocated ring buffer of longs.
+ * The queue has a single producer and a single consumer, which may run on different threads: the producer only
+ * moves the tail and the consumer only moves the head, so neither ever locks. Events are encoded by {@link GameEvent}.
+ */
+public class GameEventQueue {
+    private final long[] events;
+    private final int mask;
+
+    // Index of the next event to read, moved by the consumer, and of the next event to write, moved by the producer
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Constructor to initialize an empty queue.
+     *
+     * @param capacity The largest number of pending events, rounded up to a power of two.
+     */
+    public GameEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.events = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an event at the tail of the queue. Must only be called by the producer.
+     *
+     * @param type The type of the event.
+     * @param value The value of the event.
+     * @return True if the event was queued, false if the queue is full.
+     */
+    public boolean offer(int type, int value) {
+        long index = tail.get();
+        if (index - head.get() == events.length) {
+            return false;
+        }
+        events[(int) index & mask] = GameEvent.encode(type, value);
+        // The event is written before the tail is moved past it
+        tail.lazySet(index + 1);
+        return true;
+    }
+
+    /**
+     * Take the event at the head of the queue. Must only be called by the consumer.
+     *
+     * @return The encoded event, or {@link GameEvent#NONE} if the queue is empty.
+     */
+    public long poll() {
+        long index = head.get();
+        if (index == tail.get()) {
+            return GameEvent.NONE;
+        }
+        long event = events[(int) index & mask];
+        head.lazySet(index + 1);
+        return event;
+    }
+
+    /**
+     * Check if the queue holds no event. Only exact when called by the consumer.
+     *
+     * @return True if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
@@ -1,152 +1,360 @@
 package pacman.game;
 
 import java.awt.*;
-import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import javax.swing.JOptionPane;
 
-import pacman.GameLauncher;
 import pacman.entities.*;
 import pacman.ghosts.Ghost;
+import pacman.ghosts.GhostSystem;
 import pacman.ghosts.RedGhost;
 import pacman.ghosts.ghostFactory.*;
 import pacman.ghosts.ghostStates.EatenState;
 import pacman.ghosts.ghostStates.FrightenedState;
 import pacman.helpers.EntityCollisionDetector;
-import pacman.helpers.KeyHandler;
-import pacman.helpers.MapReader;
+import pacman.helpers.GameRandom;
+import pacman.helpers.SpatialGrid;
+import pacman.helpers.WallCollisionDetector;
 
 /**
  * Class representing a game session of Pac-Man.
- * This class manages the game entities and game state.
+ * This class manages the game entities and game state. It does not depend on any display,
+ * the game is advanced one tick at a time with {@link #step(int)}.
+ * All the randomness of the game is drawn from the seeded random stream of the session,
+ * so the same seed and the same inputs always play the same game.
+ * What Pacman runs into during a tick is queued as {@link GameEvent}s and applied in one batch before anything moves;
+ * the changes of score and lives are then published on a second queue, drained by the HUD on the render thread.
+ * The state of the entities is held in struct-of-arrays form by an {@link EntityStore}, which the systems of a tick
+ * iterate; the entity objects are views over its rows.
+ * The whole mutable state of the session can be written into a {@link WorldSnapshot} and restored from it, into this
+ * session or another session of the same level. The initial state is snapshotted once the level is set up, and a
+ * restart restores it into the same entities, so restarting neither allocates nor reads the level again.
  */
-public class GameSession implements Observer {
+public class GameSession {
+    private final Level level;
+    private final WallCollisionDetector wallCollisionDetector;
+
+    // Seed of the random stream, the stream starts over from it when the game is restarted
+    private final long seed;
+    private final GameRandom random;
+
+    private EntityStore entityStore;
     private List<Entity> gameEntities;
     private List<Ghost> ghostEntities;
-    private static List<WallEntity> wallEntities;
+    private SpatialGrid spatialGrid;
+    private PelletField pelletField;
+
+    private PacmanEntity pacmanEntity;
+    private RedGhost redGhostEntity;
+
+    // First row of the moving entities in the entity store, the rows before it never change
+    private int firstMovingRow;
+
+    // Ids of the entities found in the drawn area, and its bounds, reused by every draw
+    private int[] visibleIds;
+    private final Rectangle clipBounds = new Rectangle();
+
+    // Initial state of the world, never modified once captured
+    private final WorldSnapshot initialWorld = new WorldSnapshot();
 
-    private static PacmanEntity pacmanEntity;
-    private static RedGhost redGhostEntity;
+    private boolean isFirstUserInput;
+    private boolean isGameOver = false;
+    private boolean isWon = false;
+    private int score = 0;
+    private long tickCount = 0;
+    private int pacGumsEaten = 0;
+    private int catchCount = 0;
 
-    private static boolean isFirstUserInput;
-    private static boolean isGameOver = false;
+    // Number of times the game was restarted
+    private int restartCount = 0;
+
+    // Whether the events of the game are printed, forked sessions played ahead by a search stay quiet
+    private boolean logging = true;
+
+    // Events of Pacman, produced and applied during a tick
+    private final GameEventQueue eventQueue = new GameEventQueue(EVENT_QUEUE_CAPACITY);
+
+    // Changes of score and lives for the HUD, with the last values published on it
+    private final GameEventQueue hudEventQueue = new GameEventQueue(HUD_EVENT_QUEUE_CAPACITY);
+    private int reportedScore = -1;
+    private int reportedLives = -1;
+
+    private static final int EVENT_QUEUE_CAPACITY = 64;
+    private static final int HUD_EVENT_QUEUE_CAPACITY = 256;
+
+    // Number of ints of the counters and flags of the session in a world snapshot
+    private static final int SESSION_STATE_SIZE = 9;
 
     /**
      * Constructor to initialize the game session.
+     *
+     * @param level The level to play.
+     * @param seed The seed of the random stream of the session.
      */
-    public GameSession() {
+    public GameSession(Level level, long seed) {
+        this.level = level;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        this.wallCollisionDetector = new WallCollisionDetector(level.getCollisionMap());
         setupGame();
+        initialWorld.capture(this);
+        publishHudEvents();
     }
 
     /**
-     * Setup the game by loading the map and initializing entities.
+     * Setup the game by initializing the entities of the level.
      */
     private void setupGame() {
+        entityStore = new EntityStore();
         gameEntities = new ArrayList<>();
         ghostEntities = new ArrayList<>();
-        wallEntities = new ArrayList<>();
         isFirstUserInput = false;
-        List<List<String>> mapData = new MapReader().parseMap(new File("src/resources/level/level.csv").toURI());
 
-        int mapWidth = mapData.get(0).size();
-        int mapHeight = mapData.size();
-        int cellDimension = 8;
+        int cellDimension = Level.CELL_DIMENSION;
+        pelletField = new PelletField(level, cellDimension);
 
+        // Walls and ghost houses are answered by the collision map of the level, they get no entity so the store
+        // and the grid only grow with the moving entities, however large the maze
         EntityCollisionDetector collisionDetector = new EntityCollisionDetector(this);
-
-        for (int x = 0; x < mapWidth; x++) {
-            for (int y = 0; y < mapHeight; y++) {
-                String cellData = mapData.get(y).get(x);
-                addEntity(cellData, x * cellDimension, y * cellDimension, collisionDetector);
-            }
+        for (int spawn = 0; spawn < level.getSpawnCount(); spawn++) {
+            addMovingEntity(level.getSpawnTile(spawn), level.getSpawnX(spawn) * cellDimension,
+                    level.getSpawnY(spawn) * cellDimension, collisionDetector);
         }
 
         gameEntities.add(pacmanEntity);
         gameEntities.addAll(ghostEntities);
+        firstMovingRow = pacmanEntity.getId();
+        for (Ghost ghost : ghostEntities) {
+            firstMovingRow = Math.min(firstMovingRow, ghost.getId());
+        }
 
+        // Every entity is indexed for entity collisions and for the culling of the drawn entities
+        spatialGrid = new SpatialGrid(entityStore, level.getWorldWidth(), level.getWorldHeight(), Level.ENTITY_SIZE);
         for (Entity entity : gameEntities) {
-            if (entity instanceof WallEntity) {
-                wallEntities.add((WallEntity) entity);
-            }
+            spatialGrid.add(entity);
         }
+        visibleIds = new int[entityStore.getCount()];
     }
 
     /**
-     * Add an entity to the game based on the cell data.
+     * Add Pacman or a ghost to the game based on the tile of its spawn point.
      *
-     * @param cellData The cell data indicating the type of entity.
+     * @param tile The tile code of the spawn point.
      * @param x X position of the entity.
      * @param y Y position of the entity.
      * @param collisionDetector The collision detector for the entity.
      */
-    private void addEntity(String cellData, int x, int y, EntityCollisionDetector collisionDetector) {
-        switch (cellData) {
-            case "x":
-                gameEntities.add(new WallEntity(x, y));
-                break;
-            case "P":
-                pacmanEntity = PacmanEntity.getInstance(x, y);
-                pacmanEntity.setCollisionDetector(collisionDetector);
-                pacmanEntity.registerObserver(GameLauncher.getUIPanel());
-                pacmanEntity.registerObserver(this);
-                break;
-            case "b":
-            case "p":
-            case "i":
-            case "c":
-                Ghost ghost = generateGhost(cellData, x, y);
-                ghostEntities.add(ghost);
-                if (cellData.equals("b")) {
-                    redGhostEntity = (RedGhost) ghost;
-                }
-                break;
-            case ".":
-                gameEntities.add(new PacGumEntity(x, y));
-                break;
-            case "o":
-                gameEntities.add(new SuperPacGumEntity(x, y));
-                break;
-            case "-":
-                gameEntities.add(new GhostHouseEntity(x, y));
-                break;
+    private void addMovingEntity(byte tile, int x, int y, EntityCollisionDetector collisionDetector) {
+        if (tile == Tile.PACMAN) {
+            pacmanEntity = new PacmanEntity(this, x, y);
+            pacmanEntity.setCollisionDetector(collisionDetector);
+            return;
+        }
+        Ghost ghost = generateGhost(tile, x, y);
+        ghostEntities.add(ghost);
+        if (tile == Tile.RED_GHOST) {
+            redGhostEntity = (RedGhost) ghost;
         }
     }
 
     /**
-     * Generate a ghost based on the cell data.
+     * Generate a ghost based on the tile of its spawn point.
      *
-     * @param cellData The cell data indicating the type of ghost.
+     * @param tile The tile code indicating the type of ghost.
      * @param x X position of the ghost.
      * @param y Y position of the ghost.
      * @return The generated ghost.
      */
-    private Ghost generateGhost(String cellData, int x, int y) {
+    private Ghost generateGhost(byte tile, int x, int y) {
         AbstractGhostFactory ghostFactory = null;
-        switch (cellData) {
-            case "b":
+        switch (tile) {
+            case Tile.RED_GHOST:
                 ghostFactory = new RedGhostFactory();
                 break;
-            case "p":
+            case Tile.PINK_GHOST:
                 ghostFactory = new PinkGhostFactory();
                 break;
-            case "i":
+            case Tile.BLUE_GHOST:
                 ghostFactory = new BlueGhostFactory();
                 break;
-            case "c":
+            case Tile.YELLOW_GHOST:
                 ghostFactory = new YellowGhostFactory();
                 break;
         }
-        return ghostFactory.createGhost(x, y);
+        return ghostFactory.createGhost(this, x, y);
+    }
+
+    /**
+     * Advance the game by one tick.
+     *
+     * @param input The player input mask for this tick, made of {@link PlayerInput} bits.
+     */
+    public void step(int input) {
+        if (isGameOver) {
+            return;
+        }
+        pacmanEntity.handleInput(input);
+        refreshEntities();
+        tickCount++;
+    }
+
+    /**
+     * Restart the game from the initial state of the level, restoring the entities in place from the snapshot taken
+     * when the level was set up. The ghosts keep their strategies.
+     */
+    public void restart() {
+        restartCount++;
+        initialWorld.restore(this);
+    }
+
+    /**
+     * Get the number of ints the state of the session takes in a {@link WorldSnapshot}.
+     * It grows with the moving entities and the cells eaten, not with the size of the level.
+     *
+     * @return The size of the state.
+     */
+    int getStateSize() {
+        return getLayoutSize() + pelletField.getStateSize();
+    }
+
+    /**
+     * Get the number of ints of the state apart from the eaten cells, the same for all the sessions of a level.
+     */
+    private int getLayoutSize() {
+        int rows = entityStore.getCount() - firstMovingRow;
+        return SESSION_STATE_SIZE + rows * EntityStore.COMPONENT_COUNT + spatialGrid.getStateSize()
+                + PacmanEntity.STATE_SIZE + ghostEntities.size() * Ghost.STATE_SIZE;
+    }
+
+    /**
+     * Write the state of the session into a buffer: its counters, the random stream, the rows of the moving entities,
+     * the spatial grid, the pellet field, and the states of Pacman and the ghosts. The first int is the size of the
+     * state apart from the eaten cells, checked when it is read back.
+     *
+     * @param buffer The buffer to write into, at least {@link #getStateSize()} ints long.
+     * @param offset The index of the first int to write.
+     * @return The index following the last written int.
+     */
+    int writeState(int[] buffer, int offset) {
+        long randomState = random.getState();
+        buffer[offset++] = getLayoutSize();
+        buffer[offset++] = (int) (randomState >>> 32);
+        buffer[offset++] = (int) randomState;
+        buffer[offset++] = (int) (tickCount >>> 32);
+        buffer[offset++] = (int) tickCount;
+        buffer[offset++] = score;
+        buffer[offset++] = pacGumsEaten;
+        buffer[offset++] = catchCount;
+        buffer[offset++] = (isGameOver ? 1 : 0) | (isWon ? 2 : 0) | (isFirstUserInput ? 4 : 0);
+        offset = entityStore.writeRows(firstMovingRow, entityStore.getCount(), buffer, offset);
+        offset = spatialGrid.writeState(buffer, offset);
+        offset = pelletField.writeState(buffer, offset);
+        offset = pacmanEntity.writeState(buffer, offset);
+        for (int i = 0; i < ghostEntities.size(); i++) {
+            offset = ghostEntities.get(i).writeState(buffer, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Read back a state written by {@link #writeState(int[], int)}, from this session or another session of the same
+     * level, and publish the restored score and lives to the HUD.
+     *
+     * @param buffer The buffer to read from.
+     * @param offset The index of the first int to read.
+     * @return The index following the last read int.
+     */
+    int readState(int[] buffer, int offset) {
+        if (buffer[offset] != getLayoutSize()) {
+            throw new IllegalArgumentException("The state of " + buffer[offset] + " ints apart from the eaten cells "
+                    + "does not match the session, " + getLayoutSize() + " ints");
+        }
+        offset++;
+        random.setState((long) buffer[offset++] << 32 | (buffer[offset++] & 0xFFFFFFFFL));
+        tickCount = (long) buffer[offset++] << 32 | (buffer[offset++] & 0xFFFFFFFFL);
+        score = buffer[offset++];
+        pacGumsEaten = buffer[offset++];
+        catchCount = buffer[offset++];
+        int flags = buffer[offset++];
+        isGameOver = (flags & 1) != 0;
+        isWon = (flags & 2) != 0;
+        isFirstUserInput = (flags & 4) != 0;
+        // The buckets to empty are the ones of the rows about to be overwritten
+        spatialGrid.clearBuckets();
+        offset = entityStore.readRows(firstMovingRow, entityStore.getCount(), buffer, offset);
+        offset = spatialGrid.readState(buffer, offset);
+        offset = pelletField.readState(buffer, offset);
+        offset = pacmanEntity.readState(buffer, offset);
+        for (int i = 0; i < ghostEntities.size(); i++) {
+            offset = ghostEntities.get(i).readState(buffer, offset);
+        }
+        publishHudEvents();
+        return offset;
+    }
+
+    /**
+     * Get the number of times the game was restarted, every restart puts all the entities back in their initial state.
+     *
+     * @return The number of restarts.
+     */
+    public int getRestartCount() {
+        return restartCount;
+    }
+
+    /**
+     * Get the level played by the game session.
+     *
+     * @return The level of the game session.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Get the random stream of the game session.
+     *
+     * @return The random stream.
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Get the seed the random stream of the game session started from.
+     *
+     * @return The seed of the session.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get the wall collision detector of the level.
+     *
+     * @return The wall collision detector.
+     */
+    public WallCollisionDetector getWallCollisionDetector() {
+        return wallCollisionDetector;
+    }
+
+    /**
+     * Get the store holding the components of the game entities.
+     *
+     * @return The entity store of the game session.
+     */
+    public EntityStore getEntityStore() {
+        return entityStore;
     }
 
     /**
-     * Get the list of wall entities.
+     * Get the first row of the moving entities in the entity store, every row from it to the last one is a moving
+     * entity, created in the order of the session.
      *
-     * @return The list of wall entities.
+     * @return The id of the first moving entity.
      */
-    public static List<WallEntity> getWallEntities() {
-        return wallEntities;
+    public int getFirstMovingRow() {
+        return firstMovingRow;
     }
 
     /**
@@ -159,50 +367,189 @@ public class GameSession implements Observer {
     }
 
     /**
-     * Refresh the state of all entities in the game.
+     * Get the list of ghosts.
+     *
+     * @return The list of ghosts.
+     */
+    public List<Ghost> getGhostEntities() {
+        return ghostEntities;
+    }
+
+    /**
+     * Get the spatial grid indexing the game entities.
+     *
+     * @return The spatial grid of the game session.
+     */
+    public SpatialGrid getSpatialGrid() {
+        return spatialGrid;
+    }
+
+    /**
+     * Get the Pac-Gums and Super Pac-Gums of the level.
+     *
+     * @return The pellet field of the game session.
+     */
+    public PelletField getPelletField() {
+        return pelletField;
+    }
+
+    /**
+     * Get the queue of the events of Pacman, applied by the game session during each tick.
+     *
+     * @return The event queue of the game session.
+     */
+    public GameEventQueue getEventQueue() {
+        return eventQueue;
+    }
+
+    /**
+     * Get the queue of the changes of score and lives, to be drained by a single consumer such as the HUD.
+     * Each event holds the new absolute value, so a consumer only needs the last event of each type.
+     *
+     * @return The HUD event queue of the game session.
+     */
+    public GameEventQueue getHudEventQueue() {
+        return hudEventQueue;
+    }
+
+    /**
+     * Refresh the state of all entities in the game, without reading any input.
+     * The game is normally advanced with {@link #step(int)}, this is the part of a tick measured by the benchmarks.
      */
     public void refreshEntities() {
-        boolean allPacGumsCollected = true;
-        for (Entity entity : gameEntities) {
-            if (!entity.isDestroyed())
-                entity.refresh();
-            if (entity instanceof PacGumEntity && !entity.isDestroyed()) {
-                allPacGumsCollected = false;
-            }
+        pelletField.refresh();
+        if (!pacmanEntity.isDestroyed()) {
+            pacmanEntity.checkCollisions();
+            processEvents();
+            pacmanEntity.move();
+        }
+        GhostSystem.update(this);
+
+        // Nothing is looked up in the grid while the entities move, they are reindexed once they all moved
+        spatialGrid.update(pacmanEntity.getId());
+        for (int i = 0; i < ghostEntities.size(); i++) {
+            spatialGrid.update(ghostEntities.get(i).getId());
         }
-        if (allPacGumsCollected) {
-            System.out.println("Congratulations! You won the game!");
+        if (pelletField.getPacGumCount() == 0) {
+            if (logging) {
+                System.out.println("Congratulations! You won the game!");
+            }
             isGameOver = true;
-            showGameOver(true);
-            pacmanEntity.reset();
+            isWon = true;
         }
-        if (isGameOver) {
-            System.out.println("GameSession Over");
-            setupGame();
-            GameLauncher.getUIPanel().updateLives(3);
-            GameLauncher.getUIPanel().updateScore(-GameLauncher.getUIPanel().getScore());
-            isGameOver = false;
+        publishHudEvents();
+    }
+
+    /**
+     * Apply the events queued by Pacman during the tick, in the order they were queued.
+     * The score of the Pac-Gums is added once for the whole batch.
+     */
+    private void processEvents() {
+        int pacGumScore = 0;
+        for (long event = eventQueue.poll(); event != GameEvent.NONE; event = eventQueue.poll()) {
+            int value = GameEvent.getValue(event);
+            switch (GameEvent.getType(event)) {
+                case GameEvent.PAC_GUM_EATEN:
+                    pelletField.eatPacGum(value);
+                    pacGumsEaten++;
+                    pacGumScore += 10;
+                    break;
+                case GameEvent.SUPER_PAC_GUM_EATEN:
+                    pelletField.eatSuperPacGum(value);
+                    score += 100;
+                    for (Ghost ghost : ghostEntities) {
+                        ghost.getState().superPacGumEaten();
+                    }
+                    break;
+                case GameEvent.GHOST_COLLISION:
+                    handleGhostCollision((Ghost) entityStore.getView(value));
+                    break;
+            }
         }
+        score += pacGumScore;
     }
 
     /**
-     * Handle user input.
+     * Handle a collision between Pacman and a ghost: a frightened ghost is eaten, any other ghost but an eaten one
+     * catches Pacman.
      *
-     * @param keyHandler Key handler for capturing user inputs.
+     * @param ghost The ghost Pacman collided with.
+     */
+    private void handleGhostCollision(Ghost ghost) {
+        if (ghost.getState() instanceof FrightenedState) {
+            score += 500;
+            ghost.getState().eaten();
+        } else if (!(ghost.getState() instanceof EatenState)) {
+            pacmanEntity.handleDeath();
+            catchCount++;
+            if (logging) {
+                System.out.println("Pacman has been caught by a ghost , lives left: " + pacmanEntity.getLives());
+            }
+            if (pacmanEntity.getLives() == 0) {
+                if (logging) {
+                    System.out.println("GameSession Over");
+                }
+                isGameOver = true;
+                isWon = false;
+            }
+        }
+    }
+
+    /**
+     * Publish the score and the lives on the HUD event queue when they changed since they were last published.
+     * A value is only marked as published once queued, so a full queue is caught up on a later tick.
      */
-    public void handleInput(KeyHandler keyHandler) {
-        pacmanEntity.handleInput(keyHandler);
+    private void publishHudEvents() {
+        if (score != reportedScore && hudEventQueue.offer(GameEvent.SCORE_CHANGED, score)) {
+            reportedScore = score;
+        }
+        int lives = pacmanEntity.getLives();
+        if (lives != reportedLives && hudEventQueue.offer(GameEvent.LIVES_CHANGED, lives)) {
+            reportedLives = lives;
+        }
     }
 
     /**
-     * Draw all game entities onto the provided graphics context.
+     * Find the moving entities that are not destroyed and intersect an area of the world, such as the view of a
+     * camera, by a query of the spatial grid. The entities are listed in drawing order: Pacman first, then the ghosts.
+     *
+     * @param x X position of the area.
+     * @param y Y position of the area.
+     * @param width Width of the area.
+     * @param height Height of the area.
+     * @param ids The array receiving the ids of the entities, at least as long as the number of moving entities.
+     * @return The number of entities found.
+     */
+    public int findVisibleEntities(int x, int y, int width, int height, int[] ids) {
+        int count = spatialGrid.findAllIntersecting(x, y, width, height, EntityStore.MOVING, ids);
+        // Ids follow the creation order of the ghosts, Pacman is moved in front of them
+        Arrays.sort(ids, 0, count);
+        int pacmanId = pacmanEntity.getId();
+        for (int i = count - 1; i > 0; i--) {
+            if (ids[i] == pacmanId) {
+                System.arraycopy(ids, 0, ids, 1, i);
+                ids[0] = pacmanId;
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Draw the dynamic game entities onto the provided graphics context: the blinking Super Pac-Gums,
+     * Pacman and the ghosts. The maze and the Pac-Gums are drawn beforehand by a {@link MazeLayer}.
+     * Only the entities crossing the clip of the graphics context are drawn, or the whole world when it has none.
      *
      * @param graphics The graphics context to draw onto.
      */
     public void drawEntities(Graphics2D graphics) {
-        for (Entity entity : gameEntities) {
-            if (!entity.isDestroyed())
-                entity.render(graphics);
+        pelletField.renderSuperPacGums(graphics);
+        // The bounds are left untouched when the graphics context has no clip
+        clipBounds.setBounds(0, 0, level.getWorldWidth(), level.getWorldHeight());
+        graphics.getClipBounds(clipBounds);
+        int count = findVisibleEntities(clipBounds.x, clipBounds.y, clipBounds.width, clipBounds.height, visibleIds);
+        for (int i = 0; i < count; i++) {
+            entityStore.getView(visibleIds[i]).render(graphics);
         }
     }
 
@@ -211,7 +558,7 @@ public class GameSession implements Observer {
      *
      * @return The instance of PacmanEntity.
      */
-    public static PacmanEntity getPacmanEntity() {
+    public PacmanEntity getPacmanEntity() {
         return pacmanEntity;
     }
 
@@ -220,62 +567,98 @@ public class GameSession implements Observer {
      *
      * @return The instance of RedGhost.
      */
-    public static RedGhost getRedGhostEntity() {
+    public RedGhost getRedGhostEntity() {
         return redGhostEntity;
     }
 
-    @Override
-    public void updatePacGumEaten(PacGumEntity pacGumEntity) {
-        pacGumEntity.destroy();
+    /**
+     * Check if the game is over, either won or lost. A finished game stops advancing until it is restarted.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    public boolean isGameOver() {
+        return isGameOver;
     }
 
-    @Override
-    public void updateSuperPacGumEaten(SuperPacGumEntity superPacGumEntity) {
-        superPacGumEntity.destroy();
-        for (Ghost ghost : ghostEntities) {
-            ghost.getState().superPacGumEaten();
-        }
+    /**
+     * Check if the finished game was won.
+     *
+     * @return True if every Pac-Gum was eaten, false otherwise.
+     */
+    public boolean isWon() {
+        return isWon;
     }
 
-    @Override
-    public void updateGhostCollision(Ghost ghost) {
-        if (ghost.getState() instanceof FrightenedState) {
-            ghost.getState().eaten();
-        } else if (!(ghost.getState() instanceof EatenState)) {
-            System.out.println("Pacman has been caught by a ghost , lives left: " + pacmanEntity.getLives());
-            GameLauncher.getUIPanel().updateLives(pacmanEntity.getLives());
-            if (pacmanEntity.getLives() == 0) {
-                System.out.println("GameSession Over");
-                showGameOver(false);
-            }
-        }
+    /**
+     * Get the current score.
+     *
+     * @return The current score.
+     */
+    public int getScore() {
+        return score;
     }
 
     /**
-     * Show the game over dialog and handle the user's choice to restart or quit.
+     * Get the number of lives left.
      *
-     * @param won True if the player won, false if they lost.
+     * @return The number of lives left.
      */
-    private void showGameOver(boolean won) {
-        pacmanEntity.resetLives();
-        String result = won ? "Congratulations! You won the game!" : "Game Over. Your score is " + GameLauncher.getUIPanel().getScore();
-        int dialogResult = JOptionPane.showOptionDialog(null,
-                result + ". Do you want to restart the game?", "GameSession Over", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null,
-                new Object[]{"Restart", "Quit"}, null);
-        if (dialogResult == JOptionPane.YES_OPTION) {
-            isGameOver = true;
-        } else {
-            System.exit(0);
-        }
+    public int getLives() {
+        return pacmanEntity.getLives();
+    }
+
+    /**
+     * Get the number of ticks played since the game started.
+     *
+     * @return The number of ticks.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Get the number of Pac-Gums eaten since the game started.
+     *
+     * @return The number of Pac-Gums eaten.
+     */
+    public int getPacGumsEaten() {
+        return pacGumsEaten;
+    }
+
+    /**
+     * Get the number of times Pacman was caught by a ghost since the game started.
+     *
+     * @return The number of catches.
+     */
+    public int getCatchCount() {
+        return catchCount;
+    }
+
+    /**
+     * Check if the events of the game, such as Pacman being caught, are printed.
+     *
+     * @return True if the events are printed, false otherwise.
+     */
+    public boolean isLogging() {
+        return logging;
+    }
+
+    /**
+     * Print the events of the game or keep the session quiet.
+     *
+     * @param logging True to print the events, false otherwise.
+     */
+    public void setLogging(boolean logging) {
+        this.logging = logging;
     }
 
     /**
      * Set the flag indicating if this is the first user input.
      *
-     * @param isFirstUserInputt True if this is the first user input, false otherwise.
+     * @param isFirstUserInput True if this is the first user input, false otherwise.
      */
-    public static void setFirstUserInput(boolean isFirstUserInputt) {
-        isFirstUserInput = isFirstUserInputt;
+    public void setFirstUserInput(boolean isFirstUserInput) {
+        this.isFirstUserInput = isFirstUserInput;
     }
 
     /**
@@ -283,7 +666,7 @@ public class GameSession implements Observer {
      *
      * @return True if this is the first user input, false otherwise.
      */
-    public static boolean getIsFirstUserInput() {
+    public boolean getIsFirstUserInput() {
         return isFirstUserInput;
     }
 }
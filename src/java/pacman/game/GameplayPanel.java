@@ -1,47 +1,206 @@
 package pacman.game;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 
+import pacman.GameLauncher;
+import pacman.entities.PacmanEntity;
 import pacman.helpers.KeyHandler;
+import pacman.helpers.SpriteAtlas;
+import pacman.helpers.TripleBuffer;
+import pacman.replay.InputPlayback;
+import pacman.replay.InputRecorder;
+import pacman.replay.InputRecording;
+import pacman.simulation.Autopilot;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.awt.image.BufferStrategy;
 import java.io.IOException;
-import java.io.File;
 
 /**
  * Class representing the gameplay panel where the game is rendered.
- * This class extends JPanel and implements Runnable.
+ * This class extends Canvas and implements Runnable, it drives the game session and displays it.
+ * The game thread updates the game session at a fixed rate and publishes a snapshot of it after its updates.
+ * A separate render thread takes the latest snapshot without locking and renders it actively: only the regions
+ * that changed are repainted into a persistent frame, which is copied into the volatile back buffers of a buffer
+ * strategy. Swing never paints the panel, and a slow frame never delays the updates.
+ * The render thread also drains the score and lives published by the game session, and hands the latest values
+ * to the UI panel, which repaints them on the event dispatch thread, so Swing is never touched by the game thread.
+ * The size of the panel is the size of the view, not of the world: when the world is larger, a {@link Camera}
+ * follows Pacman, the snapshots only hold what it sees, and a {@link ViewportRenderer} draws them.
  */
-public class GameplayPanel extends JPanel implements Runnable {
-    public static int gameWidth;
-    public static int gameHeight;
+public class GameplayPanel extends Canvas implements Runnable {
+    // Number of game updates per second
+    private static final int GAME_HERTZ = 60;
+
+    // Number of ticks without a Pac-Gum eaten after which the autopilot's game is restarted, one minute of game
+    private static final int AUTOPILOT_STALL_TICKS = 60 * GAME_HERTZ;
+
+    private final int gameWidth;
+    private final int gameHeight;
     private Thread gameThread;
-    private boolean gameRunning = false;
+    private Thread renderThread;
+    private volatile boolean gameRunning = false;
+
+    // Largest number of updates run before a frame when the game loop is behind, later updates are dropped
+    private int maxCatchUpUpdates = 5;
+
+    // Number of buffers of the buffer strategy, 2 for double buffering, 3 for triple buffering
+    private int bufferCount = 2;
+
+    // Whether presented frames are paced on the refresh rate of the display
+    private boolean vsync = false;
+
+    private BufferStrategy bufferStrategy;
+
+    // Whether the back buffer still holds the previous frame after it is shown
+    private boolean backBufferPreserved;
 
-    private BufferedImage gamesprites;
-    private Graphics2D gameGraphics;
     private Image bgImage;
+    private MazeLayer mazeLayer;
+    private FrameRenderer renderer;
+
+    // Camera of the view, moved by the game thread before every snapshot when the world is larger than the view
+    private Camera camera;
+
+    // Snapshots of the game session, handed from the game thread to the render thread
+    private TripleBuffer<FrameSnapshot> snapshots;
+
+    // Tick of the game session rendered last, to count the updates run between two frames
+    private long renderedTickCount;
+
+    // Timings of the phases of the game loop, and whether their overlay is in the back buffer
+    private final FrameProfiler profiler = new FrameProfiler();
+    private boolean overlayDrawn = false;
 
     private KeyHandler keyInputHandler;
+    private int playerInput;
 
+    private Level level;
     private GameSession gameSession;
 
+    // Score and lives last handed to the UI panel, only used by the render thread
+    private int displayedScore = 0;
+    private int displayedLives = 3;
+
+    // Recording of the player input, saved when a game ends
+    private String recordPath;
+    private InputRecorder recorder;
+
+    // Recording replayed in place of the keyboard, until the game ends
+    private InputRecording replay;
+    private InputPlayback playback;
+
+    // Search-based autopilot playing in place of the keyboard, disabled while its budget is 0
+    private int autopilotBudget = 0;
+    private int autopilotThreads = Autopilot.getDefaultThreadCount();
+    private Autopilot autopilot;
+
     /**
      * Constructor to initialize the gameplay panel.
      *
-     * @param width Width of the game panel.
-     * @param height Height of the game panel.
+     * @param width Width of the game panel, the width of the view.
+     * @param height Height of the game panel, the height of the view.
      * @throws IOException If there is an error loading the background image.
      */
     public GameplayPanel(int width, int height) throws IOException {
         this.gameWidth = width;
         this.gameHeight = height;
         setPreferredSize(new Dimension(width, height));
+        setIgnoreRepaint(true);
         setFocusable(true);
         requestFocus();
-        bgImage = ImageIO.read(new File("src/resources/sprites/background.png"));
+        bgImage = SpriteAtlas.getImage("background.png");
+        if (bgImage == null) {
+            throw new IOException("Cannot read the background image");
+        }
+    }
+
+    /**
+     * Play a level instead of the default one. Must be called before the panel is displayed.
+     *
+     * @param level The level to play.
+     */
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * Record the player input of every game to a file. Must be called before the panel is displayed.
+     *
+     * @param recordPath The path of the recording file, overwritten at the end of every game.
+     */
+    public void setRecordPath(String recordPath) {
+        this.recordPath = recordPath;
+    }
+
+    /**
+     * Replay a recording at real speed instead of reading the keyboard. Must be called before the panel is displayed.
+     *
+     * @param replay The recording to replay.
+     */
+    public void setReplay(InputRecording replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * Let the autopilot play in place of the keyboard, restarting every game once it is over or once Pacman has eaten
+     * nothing for a minute.
+     * Must be called before the panel is displayed.
+     *
+     * @param budgetMicros The time a tick may spend searching, in microseconds.
+     * @param threadCount The number of threads searching in parallel.
+     */
+    public void setAutopilot(int budgetMicros, int threadCount) {
+        this.autopilotBudget = budgetMicros;
+        this.autopilotThreads = threadCount;
+    }
+
+    /**
+     * Set the number of buffers of the buffer strategy. Must be called before the panel is displayed.
+     *
+     * @param bufferCount 2 for double buffering, 3 for triple buffering.
+     * @throws IllegalArgumentException If the number of buffers is neither 2 nor 3.
+     */
+    public void setBufferCount(int bufferCount) {
+        if (bufferCount != 2 && bufferCount != 3) {
+            throw new IllegalArgumentException("The buffer count must be 2 or 3, not " + bufferCount);
+        }
+        this.bufferCount = bufferCount;
+    }
+
+    /**
+     * Set the largest number of updates run before a frame when the game loop is behind.
+     * Must be called before the panel is displayed.
+     *
+     * @param maxCatchUpUpdates The number of updates, the updates that are still late are dropped.
+     */
+    public void setMaxCatchUpUpdates(int maxCatchUpUpdates) {
+        this.maxCatchUpUpdates = maxCatchUpUpdates;
+    }
+
+    /**
+     * Pace the presented frames on the refresh rate of the display. Must be called before the panel is displayed.
+     *
+     * @param vsync True to pace frames on the display, false to use the default frame rate.
+     */
+    public void setVsync(boolean vsync) {
+        this.vsync = vsync;
+    }
+
+    /**
+     * Write the frame timings to a CSV file every second. Must be called before the panel is displayed.
+     *
+     * @param csvPath The path of the CSV file.
+     */
+    public void setProfileCsvPath(String csvPath) {
+        profiler.setCsvPath(csvPath);
+    }
+
+    /**
+     * Show or hide the frame timings over the game. Can be called from any thread.
+     */
+    public void toggleProfilerOverlay() {
+        profiler.toggleOverlay();
     }
 
     /**
@@ -63,110 +222,299 @@ public class GameplayPanel extends JPanel implements Runnable {
      */
     public void initializeGame() {
         gameRunning = true;
-        gamesprites = new BufferedImage(gameWidth, gameHeight, BufferedImage.TYPE_INT_ARGB);
-        gameGraphics = (Graphics2D) gamesprites.getGraphics();
+        createBufferStrategy(bufferCount);
+        bufferStrategy = getBufferStrategy();
+        BufferCapabilities capabilities = bufferStrategy.getCapabilities();
+        backBufferPreserved = capabilities.isPageFlipping()
+                ? capabilities.getFlipContents() == BufferCapabilities.FlipContents.COPIED
+                : bufferCount == 2;
 
         keyInputHandler = new KeyHandler(this);
 
-        gameSession = new GameSession();
+        if (level == null) {
+            level = Level.load(Level.DEFAULT_LEVEL_PATH);
+        }
+        camera = new Camera(gameWidth, gameHeight, level.getWorldWidth(), level.getWorldHeight());
+        // The background art only fits the default maze, any other level is drawn from its tiles
+        if (camera.isScrolling() || !isDefaultMaze(level)) {
+            renderer = new ViewportRenderer(gameWidth, gameHeight);
+        } else {
+            mazeLayer = new MazeLayer(bgImage, gameWidth, gameHeight);
+            renderer = new DirtyRegionRenderer(mazeLayer, gameWidth, gameHeight);
+        }
+
+        long seed = System.nanoTime();
+        if (replay != null) {
+            if (replay.getLevelHash() != level.getHash()) {
+                System.out.println("Warning: the recording was made on a different level, the replay will diverge");
+            }
+            seed = replay.getSeed();
+            playback = replay.playback();
+        }
+        System.out.println("Game seed: " + seed);
+        gameSession = new GameSession(level, seed);
+        if (autopilotBudget > 0 && autopilot == null) {
+            autopilot = new Autopilot(level, autopilotBudget, autopilotThreads);
+        }
+        if (recordPath != null) {
+            recorder = new InputRecorder(seed, level.getHash());
+        }
+        snapshots = new TripleBuffer<>(FrameSnapshot::new);
+        publishSnapshot();
+    }
+
+    /**
+     * Check if a level is the default maze, comparing their checksums.
+     */
+    private static boolean isDefaultMaze(Level level) {
+        return level.getHash() == Level.load(Level.DEFAULT_LEVEL_PATH).getHash();
     }
 
     /**
-     * Update the game state by refreshing entities.
+     * Capture the game session into a snapshot and hand it over to the render thread. When the world is larger than
+     * the view, the camera is moved onto Pacman first and only what it sees is captured.
+     */
+    private void publishSnapshot() {
+        FrameSnapshot snapshot = snapshots.getWriteBuffer();
+        if (camera.isScrolling()) {
+            PacmanEntity pacman = gameSession.getPacmanEntity();
+            camera.follow(pacman.getxPos(), pacman.getyPos(), pacman.getSize());
+            snapshot.capture(gameSession, camera);
+        } else {
+            snapshot.capture(gameSession);
+        }
+        snapshots.publish();
+    }
+
+    /**
+     * Update the game state by advancing the game session by one tick.
      */
     public void updateGame() {
-        gameSession.refreshEntities();
+        gameSession.step(playerInput);
+        if (recorder != null) {
+            recorder.record(playerInput);
+        }
+        if (gameSession.isGameOver()) {
+            saveRecording();
+            if (autopilot != null) {
+                // The autopilot plays on without asking, as in attract mode
+                restartGame();
+            } else {
+                showGameOver(gameSession.isWon());
+            }
+        } else if (autopilot != null && autopilot.getTicksWithoutPacGum() >= AUTOPILOT_STALL_TICKS) {
+            // A game the autopilot cannot finish is dropped rather than left running forever
+            saveRecording();
+            restartGame();
+        }
     }
 
     /**
-     * Handle user input.
+     * Handle user input, sampling the pressed keys for the next tick, the recorded input when replaying, or the
+     * input of the autopilot when it plays.
      *
      * @param key Key handler for capturing user inputs.
      */
     public void handleInput(KeyHandler key) {
-        gameSession.handleInput(key);
+        if (playback != null) {
+            playerInput = playback.nextInput();
+        } else if (autopilot != null) {
+            playerInput = autopilot.nextInput(gameSession);
+            profiler.recordAutopilot(autopilot.getRolloutCount(), autopilot.getSearchNanos());
+        } else {
+            playerInput = key.getInputMask();
+        }
     }
 
     /**
-     * Render the game by drawing the background and game entities.
+     * Save the input recorded since the game started, if recording is enabled.
      */
-    public void renderGame() {
-        if (gameGraphics != null) {
-            gameGraphics.drawImage(bgImage, 0, 0, gameWidth, gameHeight, null);
-            gameSession.drawEntities(gameGraphics);
+    private void saveRecording() {
+        if (recorder == null) {
+            return;
+        }
+        InputRecording recording = recorder.getRecording();
+        try {
+            recording.save(recordPath);
+            System.out.println("Input recorded to " + recordPath + ": " + recording.getTickCount() + " ticks, "
+                    + recording.getEncodedSize() + " bytes");
+        } catch (IOException ioException) {
+            System.err.println("ERROR saving the input recording: " + ioException.getMessage());
         }
     }
 
     /**
-     * Draw the rendered game image onto the panel.
+     * Drain the score and lives published by the game session since the last frame, keeping the latest of each,
+     * and update the UI panel once when they changed.
      */
-    public void drawGame() {
-        Graphics g = this.getGraphics();
-        g.drawImage(gamesprites, 0, 0, gameWidth, gameHeight, null);
-        g.dispose();
+    private void updateUIPanel() {
+        GameEventQueue hudEvents = gameSession.getHudEventQueue();
+        int score = displayedScore;
+        int lives = displayedLives;
+        for (long event = hudEvents.poll(); event != GameEvent.NONE; event = hudEvents.poll()) {
+            if (GameEvent.getType(event) == GameEvent.SCORE_CHANGED) {
+                score = GameEvent.getValue(event);
+            } else if (GameEvent.getType(event) == GameEvent.LIVES_CHANGED) {
+                lives = GameEvent.getValue(event);
+            }
+        }
+        if (score != displayedScore || lives != displayedLives) {
+            displayedScore = score;
+            displayedLives = lives;
+            GameLauncher.getUIPanel().update(score, lives);
+        }
     }
 
     /**
-     * The main game loop which handles game updates, rendering, and frame rate control.
+     * Show the game over dialog and handle the user's choice to restart or quit.
+     *
+     * @param won True if the player won, false if they lost.
      */
-    @Override
-    public void run() {
-        initializeGame();
+    private void showGameOver(boolean won) {
+        String result = won ? "Congratulations! You won the game!" : "Game Over. Your score is " + gameSession.getScore();
+        int dialogResult = JOptionPane.showOptionDialog(null,
+                result + ". Do you want to restart the game?", "GameSession Over", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null,
+                new Object[]{"Restart", "Quit"}, null);
+        if (dialogResult == JOptionPane.YES_OPTION) {
+            System.out.println("GameSession Over");
+            restartGame();
+        } else {
+            System.exit(0);
+        }
+    }
 
-        final double GAME_HERTZ = 60.0;
-        final double TIME_BEFORE_UPDATE = 1000000000 / GAME_HERTZ;
+    /**
+     * Restart the game session, recording the new game if recording is enabled.
+     */
+    private void restartGame() {
+        gameSession.restart();
+        // The restarted game is played from the keyboard, or by the autopilot
+        playback = null;
+        if (recorder != null) {
+            recorder.reset(gameSession.getSeed(), level.getHash());
+        }
+    }
 
-        final int MAX_UPDATES_BEFORE_RENDER = 5;
+    /**
+     * Render the latest snapshot of the game, repainting the regions of the frame that changed since the last frame,
+     * or the whole view when it scrolls.
+     *
+     * @return The number of updates run since the previous frame was rendered.
+     */
+    public int renderGame() {
+        FrameSnapshot snapshot = snapshots.getReadBuffer();
+        renderer.render(snapshot);
+        int updateCount = (int) Math.max(0, snapshot.getTickCount() - renderedTickCount);
+        renderedTickCount = snapshot.getTickCount();
+        return updateCount;
+    }
 
-        double lastUpdateTime = System.nanoTime();
-        double lastRenderTime;
+    /**
+     * Copy the rendered frame into the back buffer and show it.
+     * Only the changed regions are copied when the back buffer still holds the previous frame. The back buffers
+     * are volatile images whose contents can be lost at any time, for instance when the display mode changes:
+     * the whole frame is then copied again until it is shown intact.
+     * The frame timings are drawn over the frame when their overlay is shown.
+     */
+    public void drawGame() {
+        boolean overlayVisible = profiler.isOverlayVisible();
+        // A hidden overlay is only erased by copying the whole frame
+        boolean backBufferValid = backBufferPreserved && (overlayVisible || !overlayDrawn);
+        overlayDrawn = overlayVisible;
+        do {
+            do {
+                Graphics2D graphics = (Graphics2D) bufferStrategy.getDrawGraphics();
+                try {
+                    renderer.present(graphics, backBufferValid);
+                    if (overlayVisible) {
+                        profiler.drawOverlay(graphics);
+                    }
+                } finally {
+                    graphics.dispose();
+                }
+                backBufferValid = false;
+            } while (bufferStrategy.contentsRestored());
+            bufferStrategy.show();
+            backBufferValid = false;
+        } while (bufferStrategy.contentsLost());
 
-        final double TARGET_FPS = 60.0;
-        final double TOTAL_TIME_BEFORE_RENDER = 1000000000 / TARGET_FPS;
+        if (vsync) {
+            // Flush the window system so the frame is shown now rather than batched with the next one
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
 
-        int frameCount = 0;
-        int lastSecondTime = (int) (lastUpdateTime / 1000000000);
-        int oldFrameCount = 0;
+    /**
+     * Get the target frame rate: the refresh rate of the display when pacing on it, 60 frames per second otherwise.
+     *
+     * @return The target number of frames per second.
+     */
+    private int getTargetFps() {
+        if (vsync && getGraphicsConfiguration() != null) {
+            int refreshRate = getGraphicsConfiguration().getDevice().getDisplayMode().getRefreshRate();
+            if (refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return refreshRate;
+            }
+        }
+        return 60;
+    }
+
+    /**
+     * The loop of the game thread, which samples the input and updates the game at a fixed rate.
+     * The loop is paced by a {@link LoopPacer}, it starts the render thread and publishes a snapshot of the game
+     * after every pass of updates. Its phases are timed by the frame profiler.
+     */
+    @Override
+    public void run() {
+        initializeGame();
+        renderThread = new Thread(this::renderLoop, "RenderThread");
+        renderThread.start();
+
+        LoopPacer pacer = new LoopPacer(GAME_HERTZ, maxCatchUpUpdates);
+        pacer.start(System.nanoTime());
 
         while (gameRunning) {
-            double now = System.nanoTime();
-            int updateCount = 0;
-            while ((now - lastUpdateTime) > TIME_BEFORE_UPDATE && (updateCount < MAX_UPDATES_BEFORE_RENDER)) {
+            pacer.awaitNextDeadline();
+            // Dropped updates are counted by the pacer and reported by the profiler, never printed from the loop
+            int updateCount = pacer.takeDue(System.nanoTime());
+            for (int update = 0; update < updateCount; update++) {
+                long phaseStart = System.nanoTime();
                 handleInput(keyInputHandler);
+                long phaseEnd = System.nanoTime();
+                profiler.record(FrameProfiler.PHASE_INPUT, phaseEnd - phaseStart);
                 updateGame();
-                lastUpdateTime += TIME_BEFORE_UPDATE;
-                updateCount++;
+                profiler.record(FrameProfiler.PHASE_UPDATE, System.nanoTime() - phaseEnd);
             }
+            publishSnapshot();
+            long now = System.nanoTime();
+            profiler.endTicks(updateCount, pacer.checkDeadline(now), pacer, now);
+        }
+    }
 
-            if (now - lastUpdateTime > TIME_BEFORE_UPDATE) {
-                lastUpdateTime = now - TIME_BEFORE_UPDATE;
-            }
+    /**
+     * The loop of the render thread, which renders and presents the latest snapshot of the game at the target frame
+     * rate. The loop is paced by its own {@link LoopPacer}, and its phases are timed by the frame profiler.
+     */
+    private void renderLoop() {
+        LoopPacer pacer = new LoopPacer(getTargetFps(), 1);
+        pacer.start(System.nanoTime());
 
-            renderGame();
+        while (gameRunning) {
+            long renderStart = System.nanoTime();
+            int updateCount = renderGame();
+            long presentStart = System.nanoTime();
+            profiler.record(FrameProfiler.PHASE_RENDER, presentStart - renderStart);
             drawGame();
-            lastRenderTime = now;
-            frameCount++;
+            updateUIPanel();
+            long sleepStart = System.nanoTime();
+            profiler.record(FrameProfiler.PHASE_PRESENT, sleepStart - presentStart);
+            boolean deadlineMissed = pacer.checkDeadline(sleepStart);
 
-            int thisSecond = (int) (lastUpdateTime / 1000000000);
-            if (thisSecond > lastSecondTime) {
-                if (frameCount != oldFrameCount) {
-                    oldFrameCount = frameCount;
-                }
-                frameCount = 0;
-                lastSecondTime = thisSecond;
-            }
-
-            while ((now - lastRenderTime < TOTAL_TIME_BEFORE_RENDER) && (now - lastUpdateTime < TIME_BEFORE_UPDATE)) {
-                Thread.yield();
-
-                try {
-                    Thread.sleep(1);
-                } catch (Exception e) {
-                    System.err.println("ERROR yielding thread");
-                }
-
-                now = System.nanoTime();
-            }
+            pacer.awaitNextDeadline();
+            pacer.takeDue(System.nanoTime());
+            long frameEnd = System.nanoTime();
+            profiler.record(FrameProfiler.PHASE_SLEEP, frameEnd - sleepStart);
+            profiler.endFrame(updateCount, deadlineMissed, pacer, frameEnd);
         }
     }
 }
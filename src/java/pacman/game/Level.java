@@ -0,0 +1,239 @@
+package pacman.game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import pacman.helpers.CollisionMap;
+import pacman.helpers.MazeGraph;
+import pacman.helpers.PathDistanceTable;
+
+/**
+ * Class representing a level of the game.
+ * It holds the immutable data derived from the level file, which can be shared by several game sessions.
+ * The cells of the level are {@link Tile} codes, one byte per cell, and the spawn points of Pacman and of the
+ * ghosts are listed apart so a game session creates them without scanning the cells.
+ */
+public class Level {
+    // Path of the level played by default, compiled from level.csv by the LevelCompiler
+    public static final String DEFAULT_LEVEL_PATH = "src/resources/level/level" + LevelFile.EXTENSION;
+
+    // Size of a grid cell in pixels
+    public static final int CELL_DIMENSION = 8;
+
+    // Size of the moving entities in pixels
+    public static final int ENTITY_SIZE = 32;
+
+    private final int width;
+    private final int height;
+
+    // Tile code of every cell, row by row
+    private final byte[] tiles;
+
+    // Tile code and cell coordinates of every spawn point, three ints per spawn point, column by column
+    private final int[] spawns;
+
+    // Checksum of the level data, used to check that a recording is replayed on the level it was made on
+    private final int hash;
+
+    private final CollisionMap collisionMap;
+    private final MazeGraph mazeGraph;
+    private final MazeGraph ghostHouseMazeGraph;
+    private final PathDistanceTable distanceTable;
+    private final PathDistanceTable ghostHouseDistanceTable;
+
+    /**
+     * Constructor to build a level from its cells.
+     *
+     * @param width Width of the level in cells.
+     * @param height Height of the level in cells.
+     * @param tiles The tile code of every cell, row by row. The array is owned by the level afterwards.
+     */
+    public Level(int width, int height, byte[] tiles) {
+        this(width, height, tiles, findSpawns(width, height, tiles), LevelFile.computeChecksum(width, height, tiles));
+    }
+
+    /**
+     * Constructor to build a level from its cells and its already known spawn points and checksum.
+     */
+    Level(int width, int height, byte[] tiles, int[] spawns, int hash) {
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.spawns = spawns;
+        this.hash = hash;
+
+        collisionMap = new CollisionMap(tiles, width, height, CELL_DIMENSION);
+        mazeGraph = new MazeGraph(collisionMap, CollisionMap.ALL_LAYERS, ENTITY_SIZE);
+        ghostHouseMazeGraph = new MazeGraph(collisionMap, CollisionMap.WALL_LAYER, ENTITY_SIZE);
+        distanceTable = new PathDistanceTable(mazeGraph);
+        ghostHouseDistanceTable = new PathDistanceTable(ghostHouseMazeGraph);
+    }
+
+    /**
+     * Load a level, memory-mapping a compiled level file, or compiling a CSV level file in memory.
+     *
+     * @param path The path of the level file.
+     * @return The loaded level.
+     * @throws UncheckedIOException If the level file cannot be read.
+     */
+    public static Level load(String path) {
+        try {
+            if (path.endsWith(".csv")) {
+                return LevelCompiler.compile(Path.of(path));
+            }
+            return LevelFile.load(Path.of(path));
+        } catch (IOException ioException) {
+            throw new UncheckedIOException("Cannot load the level " + path, ioException);
+        }
+    }
+
+    /**
+     * Find the spawn points of a level, column by column.
+     */
+    private static int[] findSpawns(int width, int height, byte[] tiles) {
+        int spawnCount = 0;
+        for (byte tile : tiles) {
+            if (Tile.isSpawn(tile)) {
+                spawnCount++;
+            }
+        }
+        int[] spawns = new int[spawnCount * 3];
+        int spawn = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                byte tile = tiles[y * width + x];
+                if (Tile.isSpawn(tile)) {
+                    spawns[spawn++] = tile;
+                    spawns[spawn++] = x;
+                    spawns[spawn++] = y;
+                }
+            }
+        }
+        return spawns;
+    }
+
+    /**
+     * Get the checksum of the level data.
+     *
+     * @return The CRC-32 checksum of the level.
+     */
+    public int getHash() {
+        return hash;
+    }
+
+    /**
+     * Get the tile code of a cell.
+     *
+     * @param x X coordinate of the cell.
+     * @param y Y coordinate of the cell.
+     * @return The tile code of the cell.
+     */
+    public byte getTile(int x, int y) {
+        return tiles[y * width + x];
+    }
+
+    /**
+     * Get the number of spawn points of the level.
+     *
+     * @return The number of spawn points.
+     */
+    public int getSpawnCount() {
+        return spawns.length / 3;
+    }
+
+    /**
+     * Get the tile code of a spawn point, telling whether it is Pacman or which ghost.
+     *
+     * @param spawn The index of the spawn point.
+     * @return The tile code of the spawn point.
+     */
+    public byte getSpawnTile(int spawn) {
+        return (byte) spawns[spawn * 3];
+    }
+
+    /**
+     * Get the X coordinate of the cell of a spawn point.
+     *
+     * @param spawn The index of the spawn point.
+     * @return The column of the spawn point.
+     */
+    public int getSpawnX(int spawn) {
+        return spawns[spawn * 3 + 1];
+    }
+
+    /**
+     * Get the Y coordinate of the cell of a spawn point.
+     *
+     * @param spawn The index of the spawn point.
+     * @return The row of the spawn point.
+     */
+    public int getSpawnY(int spawn) {
+        return spawns[spawn * 3 + 2];
+    }
+
+    /**
+     * Get the width of the level in cells.
+     *
+     * @return The number of columns.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the level in cells.
+     *
+     * @return The number of rows.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the width of the level in pixels.
+     *
+     * @return The width of the world.
+     */
+    public int getWorldWidth() {
+        return width * CELL_DIMENSION;
+    }
+
+    /**
+     * Get the height of the level in pixels.
+     *
+     * @return The height of the world.
+     */
+    public int getWorldHeight() {
+        return height * CELL_DIMENSION;
+    }
+
+    /**
+     * Get the collision map of the level.
+     *
+     * @return The collision map of the level.
+     */
+    public CollisionMap getCollisionMap() {
+        return collisionMap;
+    }
+
+    /**
+     * Get the junction and corridor graph of the level.
+     *
+     * @param ignoreGhostHouses Whether the ghost house gate can be walked through.
+     * @return The maze graph matching the walkable layers.
+     */
+    public MazeGraph getMazeGraph(boolean ignoreGhostHouses) {
+        return ignoreGhostHouses ? ghostHouseMazeGraph : mazeGraph;
+    }
+
+    /**
+     * Get the maze distance table of the level.
+     *
+     * @param ignoreGhostHouses Whether the ghost house gate can be walked through.
+     * @return The distance table matching the walkable layers.
+     */
+    public PathDistanceTable getDistanceTable(boolean ignoreGhostHouses) {
+        return ignoreGhostHouses ? ghostHouseDistanceTable : distanceTable;
+    }
+}
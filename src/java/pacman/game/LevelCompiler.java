@@ -0,0 +1,97 @@
+package pacman.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import pacman.helpers.MapReader;
+
+/**
+ * Class compiling the CSV level files into the binary format read by {@link LevelFile}.
+ * The CSV format stays the one edited by hand, the game loads the compiled file so it never parses text.
+ */
+public final class LevelCompiler {
+    private LevelCompiler() {}
+
+    /**
+     * Compile a CSV level file into a level.
+     *
+     * @param csvPath The path of the CSV level file.
+     * @return The compiled level.
+     * @throws IOException If the file cannot be read or holds an unknown cell.
+     */
+    public static Level compile(Path csvPath) throws IOException {
+        List<List<String>> mapData = new MapReader().parseMap(csvPath.toUri());
+        if (mapData == null || mapData.isEmpty()) {
+            throw new IOException("Cannot read the level " + csvPath);
+        }
+        try {
+            return compile(mapData);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            throw new IOException(illegalArgumentException.getMessage() + " in " + csvPath);
+        }
+    }
+
+    /**
+     * Compile parsed CSV level data into a level. Rows shorter than the first one are padded with empty cells.
+     *
+     * @param mapData The parsed level data, row by row.
+     * @return The compiled level.
+     * @throws IllegalArgumentException If the data holds an unknown cell.
+     */
+    public static Level compile(List<List<String>> mapData) {
+        int width = mapData.get(0).size();
+        int height = mapData.size();
+        byte[] tiles = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            List<String> row = mapData.get(y);
+            for (int x = 0; x < width && x < row.size(); x++) {
+                tiles[y * width + x] = Tile.fromSymbol(row.get(x));
+            }
+        }
+        return new Level(width, height, tiles);
+    }
+
+    /**
+     * Compile a CSV level file and write the compiled level.
+     *
+     * @param csvPath The path of the CSV level file.
+     * @param outputPath The path of the compiled level, overwritten if it exists.
+     * @return The compiled level.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static Level compile(Path csvPath, Path outputPath) throws IOException {
+        Level level = compile(csvPath);
+        ByteBuffer buffer = LevelFile.encode(level);
+        try (FileChannel channel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Compile a CSV level file.
+     * Arguments: path of the CSV level file, optional path of the compiled level, next to the CSV file by default.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: LevelCompiler <level.csv> [level" + LevelFile.EXTENSION + "]");
+            return;
+        }
+        Path csvPath = Path.of(args[0]);
+        Path outputPath = Path.of(args.length > 1 ? args[1]
+                : args[0].replaceFirst("\\.csv$", "") + LevelFile.EXTENSION);
+        Level level = compile(csvPath, outputPath);
+        System.out.println(String.format("Compiled %s into %s: %dx%d cells, %d spawn points, checksum %08x",
+                csvPath, outputPath, level.getWidth(), level.getHeight(), level.getSpawnCount(), level.getHash()));
+    }
+}
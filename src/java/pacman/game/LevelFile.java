@@ -0,0 +1,152 @@
+package pacman.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Class reading and writing compiled level files.
+ * A compiled level is a header followed by one {@link Tile} byte per cell, row by row. The header holds, in big
+ * endian order: the magic number, the format version, the width and height in cells, the checksum of the level,
+ * the number of spawn points and, for each of them, its tile code and its cell coordinates as three ints.
+ * Spawn points are listed column by column, the order in which the game session creates the moving entities.
+ * Files are memory-mapped, so loading one is a few bulk copies out of the page cache, whatever the size of the maze.
+ */
+public final class LevelFile {
+    // Extension of the compiled level files
+    public static final String EXTENSION = ".lvl";
+
+    // "PACL", at the start of every compiled level
+    private static final int MAGIC = 0x5041434C;
+    private static final int VERSION = 1;
+
+    // Size of the fixed part of the header and of a spawn point, in bytes
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+    private static final int SPAWN_SIZE = 3 * Integer.BYTES;
+
+    private LevelFile() {}
+
+    /**
+     * Load a compiled level file, memory-mapping it.
+     *
+     * @param path The path of the compiled level.
+     * @return The loaded level.
+     * @throws IOException If the file cannot be read or is not a valid compiled level.
+     */
+    public static Level load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        }
+    }
+
+    /**
+     * Decode a compiled level.
+     *
+     * @param buffer The compiled level, read from its position.
+     * @return The decoded level.
+     * @throws IOException If the data is not a valid compiled level.
+     */
+    public static Level decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compiled level");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled level version " + version);
+        }
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int checksum = buffer.getInt();
+        int spawnCount = buffer.getInt();
+        if (width <= 0 || height <= 0 || spawnCount < 0
+                || buffer.remaining() != (long) spawnCount * SPAWN_SIZE + (long) width * height) {
+            throw new IOException("Truncated or corrupted compiled level");
+        }
+
+        int[] spawns = new int[spawnCount * 3];
+        buffer.asIntBuffer().get(spawns);
+        buffer.position(buffer.position() + spawnCount * SPAWN_SIZE);
+        byte[] tiles = new byte[width * height];
+        buffer.get(tiles);
+
+        for (byte tile : tiles) {
+            if (!Tile.isValid(tile)) {
+                throw new IOException("Unknown tile code " + tile + " in compiled level");
+            }
+        }
+        for (int spawn = 0; spawn < spawns.length; spawn += 3) {
+            int x = spawns[spawn + 1];
+            int y = spawns[spawn + 2];
+            if (x < 0 || x >= width || y < 0 || y >= height || tiles[y * width + x] != spawns[spawn]
+                    || !Tile.isSpawn((byte) spawns[spawn])) {
+                throw new IOException("Invalid spawn point in compiled level");
+            }
+        }
+        if (computeChecksum(width, height, tiles) != checksum) {
+            throw new IOException("Checksum mismatch in compiled level");
+        }
+        return new Level(width, height, tiles, spawns, checksum);
+    }
+
+    /**
+     * Encode a level into the compiled format.
+     *
+     * @param level The level to encode.
+     * @return The compiled level, ready to be written.
+     */
+    public static ByteBuffer encode(Level level) {
+        int spawnCount = level.getSpawnCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + spawnCount * SPAWN_SIZE
+                + level.getWidth() * level.getHeight());
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(level.getWidth());
+        buffer.putInt(level.getHeight());
+        buffer.putInt(level.getHash());
+        buffer.putInt(spawnCount);
+        for (int spawn = 0; spawn < spawnCount; spawn++) {
+            buffer.putInt(level.getSpawnTile(spawn));
+            buffer.putInt(level.getSpawnX(spawn));
+            buffer.putInt(level.getSpawnY(spawn));
+        }
+        for (int y = 0; y < level.getHeight(); y++) {
+            for (int x = 0; x < level.getWidth(); x++) {
+                buffer.put(level.getTile(x, y));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Compute the CRC-32 checksum of a level. The checksum covers the level as written in the CSV format, each cell
+     * followed by a comma and each row by a new line, so a level keeps its checksum once compiled and the
+     * recordings made on it can still be replayed.
+     *
+     * @param width Width of the level in cells.
+     * @param height Height of the level in cells.
+     * @param tiles The tile codes of the level, row by row.
+     * @return The checksum of the level.
+     */
+    public static int computeChecksum(int width, int height, byte[] tiles) {
+        byte[] row = new byte[width * 2 + 1];
+        for (int x = 0; x < width; x++) {
+            row[x * 2 + 1] = ',';
+        }
+        row[width * 2] = '\n';
+
+        CRC32 crc = new CRC32();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                row[x * 2] = (byte) Tile.getSymbol(tiles[y * width + x]);
+            }
+            crc.update(row);
+        }
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,139 @@
+package pacman.game;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Class pacing a loop on a fixed rate, such as the game updates or the frames.
+ * Deadlines are kept in integer nanoseconds and computed from the start of the schedule, the n-th deadline being
+ * n periods after it, so rounding never accumulates into a drift. Between deadlines the loop parks, then spins for
+ * the last fraction of a millisecond to wake up on time without burning a whole core.
+ * When the loop falls behind, at most a capped number of late periods are run at once and the rest are dropped:
+ * the schedule skips their deadlines but keeps its phase.
+ */
+public class LoopPacer {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // Time before a deadline below which the loop spins instead of parking, parking can overshoot by tens of microseconds
+    private static final long SPIN_THRESHOLD = 200_000L;
+
+    private final long rate;
+    private final int maxCatchUp;
+
+    // Start of the schedule, and index of its next deadline
+    private long origin;
+    private long index;
+
+    private int dropped;
+    private long missedDeadlineCount;
+    private long droppedCount;
+
+    /**
+     * Constructor to initialize the pacer of a loop.
+     *
+     * @param rate The number of periods per second.
+     * @param maxCatchUp The largest number of late periods run at once when the loop is behind.
+     */
+    public LoopPacer(int rate, int maxCatchUp) {
+        this.rate = rate;
+        this.maxCatchUp = Math.max(1, maxCatchUp);
+    }
+
+    /**
+     * Start the schedule, the first period is due one period from now.
+     *
+     * @param now The current time in nanoseconds.
+     */
+    public void start(long now) {
+        origin = now;
+        index = 1;
+    }
+
+    /**
+     * Take the periods that are due, dropping the late ones above the catch-up cap.
+     *
+     * @param now The current time in nanoseconds.
+     * @return The number of periods to run now.
+     */
+    public int takeDue(long now) {
+        int due = 0;
+        while (now - getDeadline() >= 0 && due < maxCatchUp) {
+            index++;
+            due++;
+        }
+        dropped = 0;
+        if (now - getDeadline() >= 0) {
+            // Too far behind to catch up, skip the late deadlines
+            long nextIndex = (now - origin) * rate / NANOS_PER_SECOND + 1;
+            dropped = (int) Math.min(Integer.MAX_VALUE, nextIndex - index);
+            droppedCount += dropped;
+            index = nextIndex;
+        }
+        return due;
+    }
+
+    /**
+     * Check whether the work of the periods taken last was done before the next deadline.
+     *
+     * @param now The current time in nanoseconds, once the work is done.
+     * @return True if the next deadline was missed, false otherwise.
+     */
+    public boolean checkDeadline(long now) {
+        if (now - getDeadline() > 0) {
+            missedDeadlineCount++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wait until the next deadline.
+     */
+    public void awaitNextDeadline() {
+        long deadline = getDeadline();
+        long remaining = deadline - System.nanoTime();
+        while (remaining > SPIN_THRESHOLD) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        while (deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Get the number of periods dropped by the last call to {@link #takeDue(long)}.
+     *
+     * @return The number of dropped periods.
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Get the number of deadlines missed since the pacer was created.
+     *
+     * @return The number of missed deadlines.
+     */
+    public long getMissedDeadlineCount() {
+        return missedDeadlineCount;
+    }
+
+    /**
+     * Get the number of periods dropped since the pacer was created.
+     *
+     * @return The number of dropped periods.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Get the next deadline of the schedule.
+     */
+    private long getDeadline() {
+        return origin + index * NANOS_PER_SECOND / rate;
+    }
+}
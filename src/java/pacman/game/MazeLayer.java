@@ -0,0 +1,111 @@
+package pacman.game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import pacman.entities.PelletField;
+import pacman.helpers.SpriteAtlas;
+
+/**
+ * Class representing the static layer of the maze: the background and the Pac-Gums, baked into one image.
+ * The layer follows the pellet field of the game session by comparing bitboards: an eaten Pac-Gum is erased
+ * by restoring the background under its cell only, and the Pac-Gums of a restarted game are drawn back.
+ * Each frame then only costs one blit of the layer.
+ */
+public class MazeLayer {
+    private final BufferedImage background;
+    private final BufferedImage layer;
+    private final Graphics2D layerGraphics;
+
+    // Pac-Gums currently drawn on the layer, as a bitboard matching the pellet field
+    private long[] drawnPacGums = new long[0];
+    private long[] pacGums = new long[0];
+    private final Rectangle bounds = new Rectangle();
+
+    /**
+     * Constructor to bake the background of the maze, scaled to the size of the game view.
+     *
+     * @param background The background image of the maze.
+     * @param width Width of the game view.
+     * @param height Height of the game view.
+     */
+    public MazeLayer(Image background, int width, int height) {
+        // The maze background is fully opaque, opaque images are blitted with a plain copy
+        this.background = SpriteAtlas.createCompatibleImage(width, height, Transparency.OPAQUE);
+        Graphics2D graphics = this.background.createGraphics();
+        graphics.drawImage(background, 0, 0, width, height, null);
+        graphics.dispose();
+
+        this.layer = SpriteAtlas.createCompatibleImage(width, height, Transparency.OPAQUE);
+        this.layerGraphics = layer.createGraphics();
+        layerGraphics.drawImage(this.background, 0, 0, null);
+    }
+
+    /**
+     * Bring the layer up to date with the pellet field and draw it.
+     *
+     * @param g The graphics context to draw onto.
+     * @param pelletField The pellet field of the game session.
+     */
+    public void render(Graphics2D g, PelletField pelletField) {
+        if (pacGums.length != pelletField.getWordCount()) {
+            pacGums = new long[pelletField.getWordCount()];
+        }
+        pelletField.copyPacGums(pacGums);
+        update(pelletField, pacGums, null);
+        draw(g);
+    }
+
+    /**
+     * Draw the layer as it is.
+     *
+     * @param g The graphics context to draw onto, its clip limits the copied area.
+     */
+    public void draw(Graphics2D g) {
+        g.drawImage(layer, 0, 0, null);
+    }
+
+    /**
+     * Draw the Pac-Gums that appeared and erase the Pac-Gums that were eaten since the last update.
+     *
+     * @param pelletField The pellet field giving the layout of the Pac-Gums, its own bitboard is not read.
+     * @param pacGums The Pac-Gum bitboard to draw, such as a copy of the bitboard of the pellet field.
+     * @param dirtyRegions The regions to mark with every changed Pac-Gum, or null.
+     */
+    public void update(PelletField pelletField, long[] pacGums, DirtyRegions dirtyRegions) {
+        if (drawnPacGums.length != pacGums.length) {
+            drawnPacGums = new long[pacGums.length];
+        }
+        for (int word = 0; word < drawnPacGums.length; word++) {
+            long bits = pacGums[word];
+            long changed = bits ^ drawnPacGums[word];
+            while (changed != 0) {
+                int bit = Long.numberOfTrailingZeros(changed);
+                changed &= changed - 1;
+                int cell = (word << 6) + bit;
+                if ((bits & (1L << bit)) != 0) {
+                    pelletField.renderPacGum(layerGraphics, cell);
+                } else {
+                    eraseCell(pelletField, cell);
+                }
+                if (dirtyRegions != null) {
+                    pelletField.getPacGumBounds(cell, bounds);
+                    dirtyRegions.add(bounds);
+                }
+            }
+            drawnPacGums[word] = bits;
+        }
+    }
+
+    /**
+     * Restore the background under the Pac-Gum of a cell.
+     */
+    private void eraseCell(PelletField pelletField, int cell) {
+        pelletField.getPacGumBounds(cell, bounds);
+        Composite composite = layerGraphics.getComposite();
+        layerGraphics.setComposite(AlphaComposite.Src);
+        layerGraphics.drawImage(background, bounds.x, bounds.y, bounds.x + bounds.width, bounds.y + bounds.height,
+                bounds.x, bounds.y, bounds.x + bounds.width, bounds.y + bounds.height, null);
+        layerGraphics.setComposite(composite);
+    }
+}
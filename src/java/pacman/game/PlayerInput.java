@@ -0,0 +1,30 @@
+package pacman.game;
+
+/**
+ * Class holding the bits of the player input mask fed to the game session on every tick.
+ */
+public final class PlayerInput {
+    // No direction pressed
+    public static final int NONE = 0;
+
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+
+    // Every direction bit
+    public static final int ALL = UP | DOWN | LEFT | RIGHT;
+
+    private PlayerInput() {}
+
+    /**
+     * Check if a direction is pressed in an input mask.
+     *
+     * @param input The input mask.
+     * @param direction The direction bit.
+     * @return True if the direction is pressed, false otherwise.
+     */
+    public static boolean isPressed(int input, int direction) {
+        return (input & direction) != 0;
+    }
+}
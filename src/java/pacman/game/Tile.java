@@ -0,0 +1,73 @@
+package pacman.game;
+
+/**
+ * Class holding the codes of the cells of a level, one byte per cell in a compiled level.
+ * Every code matches a symbol of the CSV level files.
+ */
+public final class Tile {
+    public static final byte EMPTY = 0;
+    public static final byte WALL = 1;
+    public static final byte GHOST_HOUSE = 2;
+    public static final byte PAC_GUM = 3;
+    public static final byte SUPER_PAC_GUM = 4;
+
+    // Spawn points of Pacman and of the ghosts
+    public static final byte PACMAN = 5;
+    public static final byte RED_GHOST = 6;
+    public static final byte PINK_GHOST = 7;
+    public static final byte BLUE_GHOST = 8;
+    public static final byte YELLOW_GHOST = 9;
+
+    // Symbol of every code in the CSV level files
+    private static final char[] SYMBOLS = { ' ', 'x', '-', '.', 'o', 'P', 'b', 'p', 'i', 'c' };
+
+    private Tile() {}
+
+    /**
+     * Get the code of a cell of a CSV level file.
+     *
+     * @param cellData The symbol of the cell.
+     * @return The code of the cell.
+     * @throws IllegalArgumentException If the symbol is unknown.
+     */
+    public static byte fromSymbol(String cellData) {
+        if (cellData.length() == 1) {
+            for (byte code = 0; code < SYMBOLS.length; code++) {
+                if (SYMBOLS[code] == cellData.charAt(0)) {
+                    return code;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown level cell \"" + cellData + "\"");
+    }
+
+    /**
+     * Get the symbol of a code in the CSV level files.
+     *
+     * @param code The code of the cell.
+     * @return The symbol of the cell.
+     */
+    public static char getSymbol(byte code) {
+        return SYMBOLS[code];
+    }
+
+    /**
+     * Check if a code is a valid cell code.
+     *
+     * @param code The code to check.
+     * @return True if the code is known, false otherwise.
+     */
+    public static boolean isValid(byte code) {
+        return code >= 0 && code < SYMBOLS.length;
+    }
+
+    /**
+     * Check if a code is the spawn point of Pacman or of a ghost.
+     *
+     * @param code The code of the cell.
+     * @return True if the cell is a spawn point, false otherwise.
+     */
+    public static boolean isSpawn(byte code) {
+        return code >= PACMAN && code <= YELLOW_GHOST;
+    }
+}
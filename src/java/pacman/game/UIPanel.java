@@ -1,29 +1,43 @@
 package pacman.game;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 
-import pacman.entities.PacGumEntity;
-import pacman.entities.SuperPacGumEntity;
-import pacman.ghosts.Ghost;
-import pacman.ghosts.ghostStates.FrightenedState;
+import pacman.helpers.SpriteAtlas;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Class representing the UI panel for the game.
- * This class extends JPanel and implements Observer.
+ * This class extends JPanel and paints the score and lives of the game session itself, from cached images: the
+ * heart and the glyphs of the score are drawn once when the panel is created, so an update never decodes an image,
+ * creates a component or lays the panel out.
+ * Updates may come from any thread, they are coalesced and applied on the event dispatch thread with a single repaint.
  */
-public class UIPanel extends JPanel implements Observer {
+public class UIPanel extends JPanel {
     public static int panelWidth;
     public static int panelHeight;
 
+    // Gap around and between the hearts and the score
+    private static final int GAP = 5;
+
+    private static final Font SCORE_FONT = new Font(Font.DIALOG, Font.BOLD, 20);
+
+    // Cached images of the heart, of the score label and of the ten digits
+    private final BufferedImage heartSprite;
+    private final BufferedImage scoreLabel;
+    private final BufferedImage[] digitGlyphs = new BufferedImage[10];
+    private final int rowHeight;
+
+    // Latest score and lives, packed in one value so they are always read together, and whether an update is posted
+    private final AtomicLong pendingState = new AtomicLong(pack(0, 3));
+    private final AtomicBoolean updatePosted = new AtomicBoolean();
+
+    // Score and lives painted, only used on the event dispatch thread
     private int gameScore = 0;
-    private JLabel scoreLabel;
-    private BufferedImage heartSprite;
+    private int lives = 3;
 
     /**
      * Constructor to initialize the UI panel.
@@ -36,68 +50,121 @@ public class UIPanel extends JPanel implements Observer {
         this.panelHeight = panelHeight;
         setPreferredSize(new Dimension(panelWidth, panelHeight));
         this.setBackground(Color.black);
-        scoreLabel = new JLabel("Score: " + gameScore);
-        scoreLabel.setFont(scoreLabel.getFont().deriveFont(20.0F));
-        scoreLabel.setForeground(Color.white);
-        this.add(scoreLabel, BorderLayout.WEST);
-        updateLives(3);
+        heartSprite = SpriteAtlas.getImage("heart.png");
+        scoreLabel = createGlyph("Score: ");
+        for (int digit = 0; digit < 10; digit++) {
+            digitGlyphs[digit] = createGlyph(String.valueOf(digit));
+        }
+        rowHeight = Math.max(scoreLabel.getHeight(), heartSprite != null ? heartSprite.getHeight() : 0);
     }
 
     /**
-     * Update the game score.
+     * Draw a text into a cached image, in the font of the score.
      *
-     * @param scoreIncrement Amount to increment the score by.
+     * @param text The text to draw.
+     * @return The image of the text.
      */
-    public void updateScore(int scoreIncrement) {
-        this.gameScore += scoreIncrement;
-        this.scoreLabel.setText("Score: " + gameScore);
+    private static BufferedImage createGlyph(String text) {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D scratchGraphics = scratch.createGraphics();
+        FontMetrics metrics = scratchGraphics.getFontMetrics(SCORE_FONT);
+        scratchGraphics.dispose();
+
+        BufferedImage glyph = SpriteAtlas.createCompatibleImage(Math.max(1, metrics.stringWidth(text)),
+                metrics.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D graphics = glyph.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setFont(SCORE_FONT);
+        graphics.setColor(Color.white);
+        graphics.drawString(text, 0, metrics.getAscent());
+        graphics.dispose();
+        return glyph;
     }
 
     /**
-     * Update the number of lives displayed on the UI.
+     * Update the displayed score and lives. May be called from any thread: the latest values are kept and the panel
+     * is repainted once on the event dispatch thread, however many updates come before it gets there.
      *
+     * @param score The score to display.
      * @param lives Number of lives to display.
      */
-    public void updateLives(int lives) {
-        this.removeAll();
-        System.out.println("Lives: " + lives);
-        for (int i = 0; i < lives; i++) {
-            try {
-                heartSprite = ImageIO.read(new File("src/resources/sprites/heart.png"));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-            JLabel heartLabel = new JLabel(new ImageIcon(heartSprite));
-            this.add(heartLabel, BorderLayout.WEST);
+    public void update(int score, int lives) {
+        pendingState.set(pack(score, lives));
+        if (updatePosted.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::applyUpdate);
         }
-        this.add(scoreLabel, BorderLayout.WEST);
-        this.revalidate();
-        this.repaint();
     }
 
     /**
-     * Get the current game score.
-     *
-     * @return The current game score.
+     * Apply the latest update on the event dispatch thread, repainting the panel if anything changed.
      */
-    public int getScore() {
-        return gameScore;
+    private void applyUpdate() {
+        updatePosted.set(false);
+        long state = pendingState.get();
+        int score = (int) (state >>> 32);
+        int newLives = (int) state;
+        if (score != gameScore || newLives != lives) {
+            gameScore = score;
+            lives = newLives;
+            repaint();
+        }
     }
 
-    @Override
-    public void updatePacGumEaten(PacGumEntity pacGum) {
-        updateScore(10);
+    /**
+     * Pack a score and a number of lives into a single value.
+     */
+    private static long pack(int score, int lives) {
+        return (long) score << 32 | (lives & 0xFFFFFFFFL);
     }
 
     @Override
-    public void updateSuperPacGumEaten(SuperPacGumEntity superPacGum) {
-        updateScore(100);
-    }
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int heartCount = heartSprite != null ? Math.max(0, lives) : 0;
+        int score = Math.max(0, gameScore);
 
-    @Override
-    public void updateGhostCollision(Ghost ghost) {
-        if (ghost.getState() instanceof FrightenedState) {
-            updateScore(500);
+        // The hearts and the score are centered on a row at the top of the panel, the score going on a second row
+        // when they do not fit on one
+        int digitCount = 1;
+        int scoreWidth = scoreLabel.getWidth() + digitGlyphs[score % 10].getWidth();
+        for (int rest = score / 10; rest > 0; rest /= 10) {
+            scoreWidth += digitGlyphs[rest % 10].getWidth();
+            digitCount++;
+        }
+        int heartsWidth = heartCount > 0 ? heartCount * (heartSprite.getWidth() + GAP) : 0;
+        boolean wrapped = heartCount > 0 && GAP + heartsWidth + scoreWidth + GAP > getWidth();
+        int x = (getWidth() - (wrapped ? heartsWidth - GAP : heartsWidth + scoreWidth)) / 2;
+
+        for (int heart = 0; heart < heartCount; heart++) {
+            g.drawImage(heartSprite, x, GAP + (rowHeight - heartSprite.getHeight()) / 2, null);
+            x += heartSprite.getWidth() + GAP;
+        }
+
+        int textY = GAP + (rowHeight - scoreLabel.getHeight()) / 2;
+        if (wrapped) {
+            x = (getWidth() - scoreWidth) / 2;
+            textY = GAP + rowHeight + GAP;
+        }
+        g.drawImage(scoreLabel, x, textY, null);
+        x += scoreLabel.getWidth();
+        // Digits are drawn from the most significant one
+        int divisor = 1;
+        for (int digit = 1; digit < digitCount; digit++) {
+            divisor *= 10;
         }
+        for (; divisor > 0; divisor /= 10) {
+            BufferedImage glyph = digitGlyphs[score / divisor % 10];
+            g.drawImage(glyph, x, textY, null);
+            x += glyph.getWidth();
+        }
+    }
+
+    /**
+     * Get the current game score.
+     *
+     * @return The current game score.
+     */
+    public int getScore() {
+        return gameScore;
     }
 }
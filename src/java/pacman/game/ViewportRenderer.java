@@ -0,0 +1,132 @@
+package pacman.game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import pacman.entities.PelletField;
+import pacman.helpers.SpriteAtlas;
+
+/**
+ * Class rendering snapshots of a world larger than the game view, as seen through the {@link Camera}, and of any level
+ * other than the default maze.
+ * The background art only fits the default maze, so the maze is drawn from the tiles of the level: every row of the
+ * view is scanned for runs of walls and of ghost house gates, each drawn with one rectangle. The Pac-Gums come from the
+ * window of the pellet field held by the snapshot and the sprites from the entities it culled, so a frame only costs
+ * what is on screen, whatever the size of the world.
+ * The view moves with Pacman nearly every frame, so the whole frame is redrawn every time.
+ */
+public class ViewportRenderer implements FrameRenderer {
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+    private static final Color WALL_COLOR = new Color(33, 33, 222);
+    private static final Color GHOST_HOUSE_COLOR = new Color(255, 184, 222);
+
+    private final int width;
+    private final int height;
+    private final BufferedImage frame;
+    private final Graphics2D frameGraphics;
+
+    /**
+     * Constructor to initialize the renderer for a game view.
+     *
+     * @param width Width of the game view.
+     * @param height Height of the game view.
+     */
+    public ViewportRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.frame = SpriteAtlas.createCompatibleImage(width, height, Transparency.OPAQUE);
+        this.frameGraphics = frame.createGraphics();
+    }
+
+    @Override
+    public void render(FrameSnapshot snapshot) {
+        frameGraphics.setColor(BACKGROUND_COLOR);
+        frameGraphics.fillRect(0, 0, width, height);
+
+        // Everything below is drawn in world coordinates
+        frameGraphics.translate(-snapshot.getViewX(), -snapshot.getViewY());
+        drawMaze(snapshot);
+        drawPacGums(snapshot);
+        for (int i = 0; i < snapshot.getEntityCount(); i++) {
+            if (!snapshot.isDestroyed(i)) {
+                frameGraphics.drawImage(SpriteAtlas.getSprite(snapshot.getSpriteId(i)), snapshot.getX(i),
+                        snapshot.getY(i), null);
+            }
+        }
+        frameGraphics.translate(snapshot.getViewX(), snapshot.getViewY());
+    }
+
+    @Override
+    public void present(Graphics2D g, boolean backBufferValid) {
+        g.drawImage(frame, 0, 0, null);
+    }
+
+    @Override
+    public void invalidate() {
+        // The whole frame is redrawn at every render
+    }
+
+    /**
+     * Draw the walls and the ghost house gates of the cells in the view, merging the cells of a row into runs.
+     */
+    private void drawMaze(FrameSnapshot snapshot) {
+        Level level = snapshot.getLevel();
+        int cellDimension = Level.CELL_DIMENSION;
+        int minX = Math.max(0, Math.floorDiv(snapshot.getViewX(), cellDimension));
+        int minY = Math.max(0, Math.floorDiv(snapshot.getViewY(), cellDimension));
+        int maxX = Math.min(level.getWidth() - 1,
+                Math.floorDiv(snapshot.getViewX() + snapshot.getViewWidth() - 1, cellDimension));
+        int maxY = Math.min(level.getHeight() - 1,
+                Math.floorDiv(snapshot.getViewY() + snapshot.getViewHeight() - 1, cellDimension));
+
+        for (int cellY = minY; cellY <= maxY; cellY++) {
+            int cellX = minX;
+            while (cellX <= maxX) {
+                byte tile = level.getTile(cellX, cellY);
+                int runStart = cellX;
+                while (cellX <= maxX && level.getTile(cellX, cellY) == tile) {
+                    cellX++;
+                }
+                if (tile == Tile.WALL || tile == Tile.GHOST_HOUSE) {
+                    frameGraphics.setColor(tile == Tile.WALL ? WALL_COLOR : GHOST_HOUSE_COLOR);
+                    frameGraphics.fillRect(runStart * cellDimension, cellY * cellDimension,
+                            (cellX - runStart) * cellDimension, cellDimension);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw the Pac-Gums and the blinking Super Pac-Gums of the window of the pellet field held by the snapshot.
+     */
+    private void drawPacGums(FrameSnapshot snapshot) {
+        PelletField pelletField = snapshot.getPelletField();
+        drawPacGums(snapshot, snapshot.getPacGums(), pelletField, false);
+        if (snapshot.isSuperPacGumVisible()) {
+            drawPacGums(snapshot, snapshot.getSuperPacGums(), pelletField, true);
+        }
+    }
+
+    /**
+     * Draw the Pac-Gums or the Super Pac-Gums set in a window bitboard of the snapshot, mapping every bit back to its
+     * cell in the level.
+     */
+    private void drawPacGums(FrameSnapshot snapshot, long[] bitboard, PelletField pelletField, boolean superPacGums) {
+        int columns = snapshot.getPelletColumns();
+        int levelWidth = snapshot.getLevel().getWidth();
+        int firstCell = snapshot.getPelletY() * levelWidth + snapshot.getPelletX();
+        for (int word = 0; word < PelletField.getWordCount(columns, snapshot.getPelletRows()); word++) {
+            long bits = bitboard[word];
+            while (bits != 0) {
+                int bit = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int cell = firstCell + bit / columns * levelWidth + bit % columns;
+                if (superPacGums) {
+                    pelletField.renderSuperPacGum(frameGraphics, cell);
+                } else {
+                    pelletField.renderPacGum(frameGraphics, cell);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package pacman.game;
+
+/**
+ * Class holding the whole mutable state of a game session, written into a reusable int buffer.
+ * A snapshot holds the counters and the random stream of the session, the components of the moving entities, the
+ * links of the spatial grid between them, the cells eaten, and the states of Pacman and the ghosts. The level, the
+ * walls, the sprites and the ghost strategies never change during a game and are shared, not copied, so the size of
+ * a snapshot does not grow with the size of the level.
+ * Capturing and restoring are plain array copies and never allocate once the buffer is large enough, so a session
+ * can be branched thousands of times per second for lookahead, rollback or fuzzing. A snapshot can be restored into
+ * the session it was captured from or into any other session of the same level.
+ */
+public class WorldSnapshot {
+    private int[] buffer = new int[0];
+
+    // Number of ints of the buffer holding the captured state, 0 if nothing was captured
+    private int size;
+
+    /**
+     * Write the state of a game session into the snapshot, replacing the state it held.
+     *
+     * @param session The game session to capture.
+     */
+    public void capture(GameSession session) {
+        int required = session.getStateSize();
+        if (buffer.length < required) {
+            // The state grows by one int per cell eaten, the buffer by more so it is not replaced at every capture
+            buffer = new int[Math.max(required, buffer.length * 2)];
+        }
+        size = session.writeState(buffer, 0);
+    }
+
+    /**
+     * Put a game session back in the state held by the snapshot.
+     *
+     * @param session The game session to restore, playing the level the snapshot was captured from.
+     */
+    public void restore(GameSession session) {
+        if (size == 0) {
+            throw new IllegalStateException("Nothing was captured into the snapshot");
+        }
+        session.readState(buffer, 0);
+    }
+
+    /**
+     * Get the number of ints of the captured state.
+     *
+     * @return The size of the state, 0 if nothing was captured.
+     */
+    public int getSize() {
+        return size;
+    }
+}
@@ -12,24 +12,12 @@ public class BlueGhost extends Ghost {
     /**
      * Constructor to initialize the Blue Ghost at a specific position.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos The x position of the Blue Ghost.
      * @param yPos The y position of the Blue Ghost.
      */
-    public BlueGhost(int xPos, int yPos) {
-        super(xPos, yPos, "BlueGhost.png");
-        setStrategy(new BlueGhostStrategy(GameSession.getRedGhostEntity()));
-    }
-
-    /**
-     * Create a clone of this Blue Ghost.
-     *
-     * @return A clone of this Blue Ghost.
-     */
-    @Override
-    public Ghost clone() {
-        BlueGhost clonedGhost = (BlueGhost) super.clone();
-        clonedGhost.setStrategy(new BlueGhostStrategy(GameSession.getRedGhostEntity()));
-        clonedGhost.state = this.state;
-        return clonedGhost;
+    public BlueGhost(GameSession session, int xPos, int yPos) {
+        super(session, xPos, yPos, "BlueGhost.png");
+        setStrategy(new BlueGhostStrategy(session, session.getRedGhostEntity()));
     }
 }
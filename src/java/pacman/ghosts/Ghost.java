@@ -1,20 +1,17 @@
 package pacman.ghosts;
 
-import javax.imageio.ImageIO;
-
+import pacman.entities.EntityStore;
 import pacman.entities.MovingEntity;
 import pacman.game.GameSession;
 import pacman.ghosts.ghostStates.*;
 import pacman.ghosts.ghostStrategies.GhostStrategy;
-
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.io.File;
+import pacman.helpers.SpriteAtlas;
+import pacman.helpers.SpriteSheet;
 
 /**
  * Abstract class representing a ghost in the Pac-Man game.
- * This class extends MovingEntity and provides common behaviors and states for ghosts.
+ * This class extends MovingEntity and provides common behaviors and states for ghosts. Its mode timers are
+ * components of the entity store, advanced by the {@link GhostSystem}.
  */
 public abstract class Ghost extends MovingEntity {
     protected GhostState state;
@@ -25,25 +22,26 @@ public abstract class Ghost extends MovingEntity {
     protected final GhostState EatenState;
     protected final GhostState HouseState;
 
-    protected int modeTimer = 0;
-    protected int frightenedTimer = 0;
-    protected boolean isChasing = false;
-
-    protected static BufferedImage frightenedSprite1;
-    protected static BufferedImage frightenedSprite2;
-    protected static BufferedImage eatenSprite;
+    // Sprite sheets shared by every ghost, served by the sprite atlas
+    protected final SpriteSheet frightenedSprite1;
+    protected final SpriteSheet frightenedSprite2;
+    protected final SpriteSheet eatenSprite;
 
     protected GhostStrategy strategy;
 
+    // Number of ints the state of a ghost besides its components takes in a world snapshot
+    public static final int STATE_SIZE = 1;
+
     /**
      * Constructor to initialize a ghost at a specific position with a given sprite.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos The x position of the ghost.
      * @param yPos The y position of the ghost.
      * @param spriteName The name of the sprite file.
      */
-    public Ghost(int xPos, int yPos, String spriteName) {
-        super(32, xPos, yPos, 2, spriteName, 2, 0.1f);
+    public Ghost(GameSession session, int xPos, int yPos, String spriteName) {
+        super(session, EntityStore.GHOST, 32, xPos, yPos, 2, spriteName, 2, 0.1f);
 
         ChaseState = new ChaseState(this);
         ScatterState = new ScatterState(this);
@@ -53,26 +51,61 @@ public abstract class Ghost extends MovingEntity {
 
         state = HouseState;
 
-        try {
-            frightenedSprite1 = ImageIO.read(new File("src/resources/sprites/ghost_frightened.png"));
-            frightenedSprite2 = ImageIO.read(new File("src/resources/sprites/ghost_frightened_2.png"));
-            eatenSprite = ImageIO.read(new File("src/resources/sprites/ghost_eaten.png"));
-        } catch (IOException e) {
-            e.printStackTrace();
+        frightenedSprite1 = SpriteAtlas.getSheet("ghost_frightened.png", getSize());
+        frightenedSprite2 = SpriteAtlas.getSheet("ghost_frightened_2.png", getSize());
+        eatenSprite = SpriteAtlas.getSheet("ghost_eaten.png", getSize());
+    }
+
+    /**
+     * Write the state of the ghost that is not held by the entity store into a buffer: the index of its state.
+     *
+     * @param buffer The buffer to write into.
+     * @param offset The index of the first int to write.
+     * @return The index following the last written int.
+     */
+    public int writeState(int[] buffer, int offset) {
+        int stateIndex;
+        if (state == ChaseState) {
+            stateIndex = 1;
+        } else if (state == ScatterState) {
+            stateIndex = 2;
+        } else if (state == FrightenedState) {
+            stateIndex = 3;
+        } else if (state == EatenState) {
+            stateIndex = 4;
+        } else {
+            stateIndex = 0;
         }
+        buffer[offset] = stateIndex;
+        return offset + STATE_SIZE;
     }
 
     /**
-     * Create a clone of this ghost.
+     * Read back the state written by {@link #writeState(int[], int)}.
      *
-     * @return A clone of this ghost.
+     * @param buffer The buffer to read from.
+     * @param offset The index of the first int to read.
+     * @return The index following the last read int.
      */
-    @Override
-    public Ghost clone() {
-        Ghost clonedGhost = (Ghost) super.clone();
-        clonedGhost.strategy = this.strategy.clone(); // Assuming GhostStrategy has a properly implemented clone method
-        clonedGhost.state = this.state.clone();
-        return clonedGhost;
+    public int readState(int[] buffer, int offset) {
+        switch (buffer[offset]) {
+            case 1:
+                state = ChaseState;
+                break;
+            case 2:
+                state = ScatterState;
+                break;
+            case 3:
+                state = FrightenedState;
+                break;
+            case 4:
+                state = EatenState;
+                break;
+            default:
+                state = HouseState;
+                break;
+        }
+        return offset + STATE_SIZE;
     }
 
     /**
@@ -93,7 +126,7 @@ public abstract class Ghost extends MovingEntity {
      * Switch the ghost to frightened mode.
      */
     public void switchFrightenedMode() {
-        frightenedTimer = 0;
+        store.getFrightenedTimer()[id] = 0;
         state = FrightenedState;
     }
 
@@ -115,7 +148,7 @@ public abstract class Ghost extends MovingEntity {
      * Switch the ghost to either chase mode or scatter mode based on the current state.
      */
     public void switchChaseModeOrScatterMode() {
-        if (isChasing) {
+        if (isChasing()) {
             switchChaseMode();
         } else {
             switchScatterMode();
@@ -150,59 +183,57 @@ public abstract class Ghost extends MovingEntity {
     }
 
     /**
-     * Refresh the state of the ghost.
+     * Check if the ghost is in its chase cycle rather than its scatter cycle.
+     *
+     * @return True if the ghost is chasing, false if it is scattering.
      */
-    @Override
-    public void refresh() {
-        if (!GameSession.getIsFirstUserInput())
-            return;
-
-        if (state == FrightenedState) {
-            frightenedTimer++;
-
-            if (frightenedTimer >= (60 * 7)) {
-                state.timerFrightenedModeOver();
-            }
-        }
-
-        if (state == ChaseState || state == ScatterState) {
-            modeTimer++;
-
-            if ((isChasing && modeTimer >= (60 * 20)) || (!isChasing && modeTimer >= (60 * 5))) {
-                state.timerModeOver();
-                isChasing = !isChasing;
-            }
-        }
+    public boolean isChasing() {
+        return store.hasFlags(id, EntityStore.CHASING);
+    }
 
-        if (xPos == 208 && yPos == 168) {
-            state.outsideHouse();
-        }
+    /**
+     * Set whether the ghost is in its chase cycle rather than its scatter cycle.
+     *
+     * @param chasing True if the ghost is chasing, false if it is scattering.
+     */
+    public void setChasing(boolean chasing) {
+        store.setFlags(id, EntityStore.CHASING, chasing);
+    }
 
-        if (xPos == 208 && yPos == 200) {
-            state.insideHouse();
-        }
+    /**
+     * Check if the ghost is frightened.
+     *
+     * @return True if the ghost is in its frightened state, false otherwise.
+     */
+    public boolean isFrightened() {
+        return state == FrightenedState;
+    }
 
-        state.computeNextDirection();
-        updatePosition();
+    /**
+     * Check if the ghost is in its chase or its scatter state.
+     *
+     * @return True if the ghost is chasing or scattering, false otherwise.
+     */
+    public boolean isChasingOrScattering() {
+        return state == ChaseState || state == ScatterState;
     }
 
     /**
-     * Render the ghost on the screen.
+     * Get the sprite id of the frame drawn for the ghost, depending on its state.
      *
-     * @param g The graphics context to render on.
+     * @return The sprite id of the current frame.
      */
     @Override
-    public void render(Graphics2D g) {
+    public int getCurrentSpriteId() {
         if (state == FrightenedState) {
+            int frightenedTimer = store.getFrightenedTimer()[id];
             if (frightenedTimer <= (60 * 5) || frightenedTimer % 20 > 10) {
-                g.drawImage(frightenedSprite1.getSubimage((int) spriteIndex * size, 0, size, size), this.xPos, this.yPos, null);
-            } else {
-                g.drawImage(frightenedSprite2.getSubimage((int) spriteIndex * size, 0, size, size), this.xPos, this.yPos, null);
+                return frightenedSprite1.getSpriteId((int) getSpriteIndex());
             }
+            return frightenedSprite2.getSpriteId((int) getSpriteIndex());
         } else if (state == EatenState) {
-            g.drawImage(eatenSprite.getSubimage(direction * size, 0, size, size), this.xPos, this.yPos, null);
-        } else {
-            g.drawImage(sprite.getSubimage((int) spriteIndex * size + direction * size * spritesPerCycle, 0, size, size), this.xPos, this.yPos, null);
+            return eatenSprite.getSpriteId(getDirection());
         }
+        return super.getCurrentSpriteId();
     }
 }
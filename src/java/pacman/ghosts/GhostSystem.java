@@ -0,0 +1,88 @@
+package pacman.ghosts;
+
+import pacman.entities.EntityStore;
+import pacman.entities.MovementSystem;
+import pacman.game.GameSession;
+import pacman.helpers.MazeGraph;
+
+/**
+ * Class running the ghosts of a game session for a tick, working on the component arrays of the entity store.
+ * The ghosts are the rows of the moving range of the store flagged {@link EntityStore#GHOST}, visited in the order of
+ * the session. Every ghost first advances its mode timers; then, one ghost after the other since a ghost may aim
+ * relative to another one, each reacts to the triggers of the ghost house, picks its next direction from its state and
+ * moves.
+ */
+public final class GhostSystem {
+    // Ticks spent frightened, chasing and scattering before the mode changes
+    private static final int FRIGHTENED_TICKS = 60 * 7;
+    private static final int CHASE_TICKS = 60 * 20;
+    private static final int SCATTER_TICKS = 60 * 5;
+
+    private GhostSystem() {}
+
+    /**
+     * Run the ghosts of a game session for a tick. The ghosts wait in place until the player first moves.
+     *
+     * @param session The game session.
+     */
+    public static void update(GameSession session) {
+        if (!session.getIsFirstUserInput()) {
+            return;
+        }
+        EntityStore store = session.getEntityStore();
+        int firstRow = session.getFirstMovingRow();
+        int rowCount = store.getCount();
+        int[] flags = store.getFlags();
+        int[] x = store.getX();
+        int[] y = store.getY();
+        int[] modeTimer = store.getModeTimer();
+        int[] frightenedTimer = store.getFrightenedTimer();
+        MazeGraph mazeGraph = session.getLevel().getMazeGraph(true);
+        int worldWidth = session.getLevel().getWorldWidth();
+        int worldHeight = session.getLevel().getWorldHeight();
+
+        for (int id = firstRow; id < rowCount; id++) {
+            if ((flags[id] & (EntityStore.GHOST | EntityStore.DESTROYED)) != EntityStore.GHOST) {
+                continue;
+            }
+            Ghost ghost = (Ghost) store.getView(id);
+
+            if (ghost.isFrightened()) {
+                frightenedTimer[id]++;
+
+                if (frightenedTimer[id] >= FRIGHTENED_TICKS) {
+                    ghost.getState().timerFrightenedModeOver();
+                }
+            }
+
+            if (ghost.isChasingOrScattering()) {
+                modeTimer[id]++;
+
+                boolean chasing = (flags[id] & EntityStore.CHASING) != 0;
+                if ((chasing && modeTimer[id] >= CHASE_TICKS) || (!chasing && modeTimer[id] >= SCATTER_TICKS)) {
+                    ghost.getState().timerModeOver();
+                    flags[id] ^= EntityStore.CHASING;
+                }
+            }
+        }
+
+        for (int id = firstRow; id < rowCount; id++) {
+            if ((flags[id] & (EntityStore.GHOST | EntityStore.DESTROYED)) != EntityStore.GHOST) {
+                continue;
+            }
+            Ghost ghost = (Ghost) store.getView(id);
+
+            if (x[id] % 8 == 0 && y[id] % 8 == 0) {
+                int trigger = mazeGraph.getTrigger(x[id], y[id]);
+                if (trigger == MazeGraph.HOUSE_DOOR_TRIGGER) {
+                    ghost.getState().outsideHouse();
+                } else if (trigger == MazeGraph.HOUSE_INSIDE_TRIGGER) {
+                    ghost.getState().insideHouse();
+                }
+            }
+
+            ghost.getState().computeNextDirection();
+            MovementSystem.move(store, id, worldWidth, worldHeight);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package pacman.ghosts;
 
+import pacman.game.GameSession;
 import pacman.ghosts.ghostStrategies.PinkGhostStrategy;
 
 /**
@@ -11,24 +12,12 @@ public class PinkGhost extends Ghost {
     /**
      * Constructor to initialize the Pink Ghost at a specific position.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos The x position of the Pink Ghost.
      * @param yPos The y position of the Pink Ghost.
      */
-    public PinkGhost(int xPos, int yPos) {
-        super(xPos, yPos, "PinkGhost.png");
-        setStrategy(new PinkGhostStrategy());
-    }
-
-    /**
-     * Create a clone of this Pink Ghost.
-     *
-     * @return A clone of this Pink Ghost.
-     */
-    @Override
-    public Ghost clone() {
-        PinkGhost clonedGhost = (PinkGhost) super.clone();
-        clonedGhost.setStrategy(new PinkGhostStrategy());
-        clonedGhost.state = this.state.clone();
-        return clonedGhost;
+    public PinkGhost(GameSession session, int xPos, int yPos) {
+        super(session, xPos, yPos, "PinkGhost.png");
+        setStrategy(new PinkGhostStrategy(session));
     }
 }
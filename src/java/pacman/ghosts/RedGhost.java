@@ -1,5 +1,6 @@
 package pacman.ghosts;
 
+import pacman.game.GameSession;
 import pacman.ghosts.ghostStrategies.RedGhostStrategy;
 
 /**
@@ -11,24 +12,12 @@ public class RedGhost extends Ghost {
     /**
      * Constructor to initialize the Red Ghost at a specific position.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos The x position of the Red Ghost.
      * @param yPos The y position of the Red Ghost.
      */
-    public RedGhost(int xPos, int yPos) {
-        super(xPos, yPos, "RedGhost.png");
-        setStrategy(new RedGhostStrategy());
-    }
-
-    /**
-     * Create a clone of this Red Ghost.
-     *
-     * @return A clone of this Red Ghost.
-     */
-    @Override
-    public Ghost clone() {
-        RedGhost clonedGhost = (RedGhost) super.clone();
-        clonedGhost.setStrategy(new RedGhostStrategy());
-        clonedGhost.state = HouseState;
-        return clonedGhost;
+    public RedGhost(GameSession session, int xPos, int yPos) {
+        super(session, xPos, yPos, "RedGhost.png");
+        setStrategy(new RedGhostStrategy(session));
     }
 }
@@ -1,5 +1,6 @@
 package pacman.ghosts;
 
+import pacman.game.GameSession;
 import pacman.ghosts.ghostStrategies.YellowGhostStrategy;
 
 /**
@@ -11,23 +12,12 @@ public class YellowGhost extends Ghost {
     /**
      * Constructor to initialize the Yellow Ghost at a specific position.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos The x position of the Yellow Ghost.
      * @param yPos The y position of the Yellow Ghost.
      */
-    public YellowGhost(int xPos, int yPos) {
-        super(xPos, yPos, "YellowGhost.png");
+    public YellowGhost(GameSession session, int xPos, int yPos) {
+        super(session, xPos, yPos, "YellowGhost.png");
         setStrategy(new YellowGhostStrategy(this));
     }
-
-    /**
-     * Create a clone of this Yellow Ghost.
-     *
-     * @return A clone of this Yellow Ghost.
-     */
-    @Override
-    public Ghost clone() {
-        YellowGhost clonedGhost = (YellowGhost) super.clone();
-        clonedGhost.setStrategy(this.strategy.clone());
-        return clonedGhost;
-    }
 }
@@ -1,5 +1,6 @@
 package pacman.ghosts.ghostFactory;
 
+import pacman.game.GameSession;
 import pacman.ghosts.*;
 
 /**
@@ -11,9 +12,10 @@ public abstract class AbstractGhostFactory {
     /**
      * Create a ghost entity at the specified position.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos X position of the ghost.
      * @param yPos Y position of the ghost.
      * @return The created ghost entity.
      */
-    public abstract Ghost createGhost(int xPos, int yPos);
+    public abstract Ghost createGhost(GameSession session, int xPos, int yPos);
 }
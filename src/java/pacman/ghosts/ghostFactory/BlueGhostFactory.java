@@ -1,5 +1,6 @@
 package pacman.ghosts.ghostFactory;
 
+import pacman.game.GameSession;
 import pacman.ghosts.BlueGhost;
 import pacman.ghosts.Ghost;
 
@@ -12,12 +13,13 @@ public class BlueGhostFactory extends AbstractGhostFactory {
     /**
      * Create a BlueGhost entity at the specified position.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos X position of the ghost.
      * @param yPos Y position of the ghost.
      * @return The created BlueGhost entity.
      */
     @Override
-    public Ghost createGhost(int xPos, int yPos) {
-        return new BlueGhost(xPos, yPos);
+    public Ghost createGhost(GameSession session, int xPos, int yPos) {
+        return new BlueGhost(session, xPos, yPos);
     }
 }
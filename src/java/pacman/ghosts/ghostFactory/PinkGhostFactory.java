@@ -1,5 +1,6 @@
 package pacman.ghosts.ghostFactory;
 
+import pacman.game.GameSession;
 import pacman.ghosts.Ghost;
 import pacman.ghosts.PinkGhost;
 
@@ -12,12 +13,13 @@ public class PinkGhostFactory extends AbstractGhostFactory {
     /**
      * Create a PinkGhost entity at the specified position.
      *
+     * @param session Game session the ghost belongs to.
      * @param xPos X position of the ghost.
      * @param yPos Y position of the ghost.
      * @return The created PinkGhost entity.
      */
     @Override
-    public Ghost createGhost(int xPos, int yPos) {
-        return new PinkGhost(xPos, yPos);
+    public Ghost createGhost(GameSession session, int xPos, int yPos) {
+        return new PinkGhost(session, xPos, yPos);
     }
 }
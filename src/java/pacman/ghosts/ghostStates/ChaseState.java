@@ -4,9 +4,9 @@ import pacman.ghosts.Ghost;
 
 /**
  * Class representing the chase state of a ghost.
- * This class extends GhostState and implements Cloneable.
+ * This class extends GhostState.
  */
-public class ChaseState extends GhostState implements Cloneable {
+public class ChaseState extends GhostState {
 
     /**
      * Constructor to initialize the chase state for a ghost.
@@ -26,16 +26,6 @@ public class ChaseState extends GhostState implements Cloneable {
         ghost.switchFrightenedMode();
     }
 
-    /**
-     * Create a clone of this chase state.
-     *
-     * @return A clone of this chase state.
-     */
-    @Override
-    public ChaseState clone() {
-        return (ChaseState) super.clone();
-    }
-
     /**
      * Handle the event when the timer mode is over.
      * Switches the ghost to scatter mode.
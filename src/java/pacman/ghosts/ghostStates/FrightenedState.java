@@ -1,13 +1,13 @@
 package pacman.ghosts.ghostStates;
 
 import pacman.ghosts.Ghost;
-import pacman.helpers.Utils;
+import pacman.helpers.GameRandom;
 
 /**
  * Class representing the frightened state of a ghost.
- * This class extends GhostState and implements Cloneable.
+ * This class extends GhostState.
  */
-public class FrightenedState extends GhostState implements Cloneable {
+public class FrightenedState extends GhostState {
 
     /**
      * Constructor to initialize the frightened state for a ghost.
@@ -18,16 +18,6 @@ public class FrightenedState extends GhostState implements Cloneable {
         super(ghost);
     }
 
-    /**
-     * Create a clone of this frightened state.
-     *
-     * @return A clone of this frightened state.
-     */
-    @Override
-    public FrightenedState clone() {
-        return (FrightenedState) super.clone();
-    }
-
     /**
      * Handle the event when the ghost is eaten.
      * Switches the ghost to eaten mode.
@@ -48,7 +38,7 @@ public class FrightenedState extends GhostState implements Cloneable {
 
     /**
      * Get the target position for the frightened state.
-     * The target position is randomly determined within a certain range.
+     * The target position is randomly determined within a certain range, using the random stream of the game session.
      *
      * @return An array containing the target position.
      */
@@ -56,9 +46,10 @@ public class FrightenedState extends GhostState implements Cloneable {
     public int[] getTargetPosition() {
         int[] position = new int[2];
 
-        boolean randomAxis = Utils.randomBool();
-        position[0] = ghost.getxPos() + (randomAxis ? Utils.randomInt(-1, 1) * 32 : 0);
-        position[1] = ghost.getyPos() + (!randomAxis ? Utils.randomInt(-1, 1) * 32 : 0);
+        GameRandom random = ghost.getSession().getRandom();
+        boolean randomAxis = random.nextBoolean();
+        position[0] = ghost.getxPos() + (randomAxis ? random.nextInt(-1, 1) * 32 : 0);
+        position[1] = ghost.getyPos() + (!randomAxis ? random.nextInt(-1, 1) * 32 : 0);
         return position;
     }
 }
@@ -1,7 +1,9 @@
 package pacman.ghosts.ghostStates;
 
+import pacman.game.Level;
 import pacman.ghosts.Ghost;
-import pacman.helpers.Utils;
+import pacman.helpers.MazeGraph;
+import pacman.helpers.PathDistanceTable;
 import pacman.helpers.WallCollisionDetector;
 
 /**
@@ -20,20 +22,6 @@ public abstract class GhostState {
         this.ghost = ghost;
     }
 
-    /**
-     * Create a clone of this ghost state.
-     *
-     * @return A clone of this ghost state.
-     */
-    public GhostState clone() {
-        try {
-            return (GhostState) super.clone();
-        } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
     /**
      * Handle the event when a super Pac-Gum is eaten.
      */
@@ -73,8 +61,19 @@ public abstract class GhostState {
         return new int[2];
     }
 
+    /**
+     * Check if the ghost can walk through the ghost house gate in this state.
+     *
+     * @return True if the ghost house gate is ignored, false otherwise.
+     */
+    protected boolean canCrossGhostHouse() {
+        return false;
+    }
+
     /**
      * Compute the next direction for the ghost based on its current position and target position.
+     * In corridors the only way forward is followed, at junctions each free neighbouring tile
+     * is ranked by its maze distance to the target.
      */
     public void computeNextDirection() {
         int new_xSpd = 0;
@@ -83,41 +82,51 @@ public abstract class GhostState {
         if (!ghost.isOnGrid()) return;
         if (!ghost.isInGameplayWindow()) return;
 
+        boolean ignoreGhostHouses = canCrossGhostHouse();
+        Level level = ghost.getSession().getLevel();
+        if (followCorridor(level.getMazeGraph(ignoreGhostHouses))) return;
+
+        WallCollisionDetector wallCollisionDetector = ghost.getSession().getWallCollisionDetector();
+        PathDistanceTable distanceTable = level.getDistanceTable(ignoreGhostHouses);
+        int speed = ghost.getEntitySpeed();
+        int cell = Level.CELL_DIMENSION;
+        int[] target = getTargetPosition();
+
         double minDist = Double.MAX_VALUE;
 
-        // Check possible directions and compute distances
-        if (ghost.getxSpeed() <= 0 && !WallCollisionDetector.isCollision(ghost, -ghost.getEntitySpeed(), 0)) {
-            double distance = Utils.getDistance(ghost.getxPos() - ghost.getEntitySpeed(), ghost.getyPos(), getTargetPosition()[0], getTargetPosition()[1]);
+        // Check possible directions and compute distances from the next tile
+        if (ghost.getxSpeed() <= 0 && !wallCollisionDetector.isCollision(ghost, -speed, 0, ignoreGhostHouses)) {
+            double distance = distanceTable.getDistance(ghost.getxPos() - cell, ghost.getyPos(), target[0], target[1]);
             if (distance < minDist) {
-                new_xSpd = -ghost.getEntitySpeed();
+                new_xSpd = -speed;
                 new_ySpd = 0;
                 minDist = distance;
             }
         }
 
-        if (ghost.getxSpeed() >= 0 && !WallCollisionDetector.isCollision(ghost, ghost.getEntitySpeed(), 0)) {
-            double distance = Utils.getDistance(ghost.getxPos() + ghost.getEntitySpeed(), ghost.getyPos(), getTargetPosition()[0], getTargetPosition()[1]);
+        if (ghost.getxSpeed() >= 0 && !wallCollisionDetector.isCollision(ghost, speed, 0, ignoreGhostHouses)) {
+            double distance = distanceTable.getDistance(ghost.getxPos() + cell, ghost.getyPos(), target[0], target[1]);
             if (distance < minDist) {
-                new_xSpd = ghost.getEntitySpeed();
+                new_xSpd = speed;
                 new_ySpd = 0;
                 minDist = distance;
             }
         }
 
-        if (ghost.getySpeed() <= 0 && !WallCollisionDetector.isCollision(ghost, 0, -ghost.getEntitySpeed())) {
-            double distance = Utils.getDistance(ghost.getxPos(), ghost.getyPos() - ghost.getEntitySpeed(), getTargetPosition()[0], getTargetPosition()[1]);
+        if (ghost.getySpeed() <= 0 && !wallCollisionDetector.isCollision(ghost, 0, -speed, ignoreGhostHouses)) {
+            double distance = distanceTable.getDistance(ghost.getxPos(), ghost.getyPos() - cell, target[0], target[1]);
             if (distance < minDist) {
                 new_xSpd = 0;
-                new_ySpd = -ghost.getEntitySpeed();
+                new_ySpd = -speed;
                 minDist = distance;
             }
         }
 
-        if (ghost.getySpeed() >= 0 && !WallCollisionDetector.isCollision(ghost, 0, ghost.getEntitySpeed())) {
-            double distance = Utils.getDistance(ghost.getxPos(), ghost.getyPos() + ghost.getEntitySpeed(), getTargetPosition()[0], getTargetPosition()[1]);
+        if (ghost.getySpeed() >= 0 && !wallCollisionDetector.isCollision(ghost, 0, speed, ignoreGhostHouses)) {
+            double distance = distanceTable.getDistance(ghost.getxPos(), ghost.getyPos() + cell, target[0], target[1]);
             if (distance < minDist) {
                 new_xSpd = 0;
-                new_ySpd = ghost.getEntitySpeed();
+                new_ySpd = speed;
                 minDist = distance;
             }
         }
@@ -125,17 +134,43 @@ public abstract class GhostState {
         if (new_xSpd == 0 && new_ySpd == 0) return;
 
         // Set the ghost's speed based on the computed direction
-        if (Math.abs(new_xSpd) != Math.abs(new_ySpd)) {
-            ghost.setxSpeed(new_xSpd);
-            ghost.setySpeed(new_ySpd);
-        } else {
-            if (new_xSpd != 0) {
-                ghost.setxSpeed(0);
-                ghost.setxSpeed(new_ySpd);
-            } else {
-                ghost.setxSpeed(new_xSpd);
+        ghost.setxSpeed(new_xSpd);
+        ghost.setySpeed(new_ySpd);
+    }
+
+    /**
+     * Keep the ghost moving along a corridor when it has a single way forward, without evaluating any target.
+     *
+     * @param mazeGraph The maze graph the ghost is walking on.
+     * @return True if the ghost followed the corridor, false if it has a decision to make.
+     */
+    private boolean followCorridor(MazeGraph mazeGraph) {
+        int tile = mazeGraph.getTile(ghost.getxPos(), ghost.getyPos());
+        if (tile < 0 || (ghost.getxSpeed() == 0 && ghost.getySpeed() == 0)) return false;
+
+        // Ghosts never turn back, so the reverse of the current direction is not a way forward
+        int exits = mazeGraph.getExits(tile) & ~(1 << MazeGraph.reverse(ghost.getDirection()));
+        if (Integer.bitCount(exits) != 1) return false;
+
+        int speed = ghost.getEntitySpeed();
+        switch (Integer.numberOfTrailingZeros(exits)) {
+            case MazeGraph.RIGHT:
+                ghost.setxSpeed(speed);
                 ghost.setySpeed(0);
-            }
+                break;
+            case MazeGraph.LEFT:
+                ghost.setxSpeed(-speed);
+                ghost.setySpeed(0);
+                break;
+            case MazeGraph.UP:
+                ghost.setxSpeed(0);
+                ghost.setySpeed(-speed);
+                break;
+            case MazeGraph.DOWN:
+                ghost.setxSpeed(0);
+                ghost.setySpeed(speed);
+                break;
         }
+        return true;
     }
 }
@@ -4,9 +4,9 @@ import pacman.ghosts.Ghost;
 
 /**
  * Class representing the scatter state of a ghost.
- * This class extends GhostState and implements Cloneable.
+ * This class extends GhostState.
  */
-public class ScatterState extends GhostState implements Cloneable {
+public class ScatterState extends GhostState {
 
     /**
      * Constructor to initialize the scatter state for a ghost.
@@ -17,16 +17,6 @@ public class ScatterState extends GhostState implements Cloneable {
         super(ghost);
     }
 
-    /**
-     * Create a clone of this scatter state.
-     *
-     * @return A clone of this scatter state.
-     */
-    @Override
-    public ScatterState clone() {
-        return (ScatterState) super.clone();
-    }
-
     /**
      * Handle the event when a super Pac-Gum is eaten.
      * Switches the ghost to frightened mode.
@@ -1,7 +1,6 @@
 package pacman.ghosts.ghostStrategies;
 
 import pacman.game.GameSession;
-import pacman.game.GameplayPanel;
 import pacman.ghosts.Ghost;
 import pacman.helpers.Utils;
 
@@ -10,27 +9,20 @@ import pacman.helpers.Utils;
  * This strategy includes behaviors for chase and scatter modes.
  */
 public class BlueGhostStrategy implements GhostStrategy {
+    private GameSession session;
     private Ghost otherGhost;
 
     /**
      * Constructor to initialize the Blue Ghost strategy.
      *
+     * @param session The game session the ghost belongs to.
      * @param ghost The ghost associated with this strategy.
      */
-    public BlueGhostStrategy(Ghost ghost) {
+    public BlueGhostStrategy(GameSession session, Ghost ghost) {
+        this.session = session;
         this.otherGhost = ghost;
     }
 
-    /**
-     * Create a clone of this Blue Ghost strategy.
-     *
-     * @return A clone of this Blue Ghost strategy.
-     */
-    @Override
-    public GhostStrategy clone() {
-        return new BlueGhostStrategy(otherGhost);
-    }
-
     /**
      * Get the target position for the chase mode.
      * This target position is based on Pacman's facing position and the other ghost's position.
@@ -40,7 +32,7 @@ public class BlueGhostStrategy implements GhostStrategy {
     @Override
     public int[] getChaseTargetPosition() {
         int[] position = new int[2];
-        int[] pacmanFacingPosition = Utils.getPointDistanceDirection(GameSession.getPacmanEntity().getxPos(), GameSession.getPacmanEntity().getyPos(), 32d, Utils.directionConverter(GameSession.getPacmanEntity().getDirection()));
+        int[] pacmanFacingPosition = Utils.getPointDistanceDirection(session.getPacmanEntity().getxPos(), session.getPacmanEntity().getyPos(), 32d, Utils.directionConverter(session.getPacmanEntity().getDirection()));
         double distanceOtherGhost = Utils.getDistance(pacmanFacingPosition[0], pacmanFacingPosition[1], otherGhost.getxPos(), otherGhost.getyPos());
         double directionOtherGhost = Utils.getDirection(otherGhost.getxPos(), otherGhost.getyPos(), pacmanFacingPosition[0], pacmanFacingPosition[1]);
         int[] redGhostVectorPosition = Utils.getPointDistanceDirection(pacmanFacingPosition[0], pacmanFacingPosition[1], distanceOtherGhost, directionOtherGhost);
@@ -57,6 +49,6 @@ public class BlueGhostStrategy implements GhostStrategy {
      */
     @Override
     public int[] getScatterTargetPosition() {
-        return new int[] { GameplayPanel.gameWidth, GameplayPanel.gameHeight };
+        return new int[] { session.getLevel().getWorldWidth(), session.getLevel().getWorldHeight() };
     }
 }
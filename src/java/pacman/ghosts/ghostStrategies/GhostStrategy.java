@@ -19,11 +19,4 @@ public interface GhostStrategy {
      * @return An array containing the target position for scatter mode.
      */
     int[] getScatterTargetPosition();
-
-    /**
-     * Create a clone of this ghost strategy.
-     *
-     * @return A clone of this ghost strategy.
-     */
-    GhostStrategy clone();
 }
@@ -8,6 +8,16 @@ import pacman.helpers.Utils;
  * This strategy includes behaviors for chase and scatter modes.
  */
 public class PinkGhostStrategy implements GhostStrategy {
+    private GameSession session;
+
+    /**
+     * Constructor to initialize the Pink Ghost strategy.
+     *
+     * @param session The game session the ghost belongs to.
+     */
+    public PinkGhostStrategy(GameSession session) {
+        this.session = session;
+    }
 
     /**
      * Get the target position for the chase mode.
@@ -18,22 +28,12 @@ public class PinkGhostStrategy implements GhostStrategy {
     @Override
     public int[] getChaseTargetPosition() {
         int[] targetPosition = new int[2];
-        int[] pacmanDirectionPosition = Utils.getPointDistanceDirection(GameSession.getPacmanEntity().getxPos(), GameSession.getPacmanEntity().getyPos(), 64, Utils.directionConverter(GameSession.getPacmanEntity().getDirection()));
+        int[] pacmanDirectionPosition = Utils.getPointDistanceDirection(session.getPacmanEntity().getxPos(), session.getPacmanEntity().getyPos(), 64, Utils.directionConverter(session.getPacmanEntity().getDirection()));
         targetPosition[0] = pacmanDirectionPosition[0];
         targetPosition[1] = pacmanDirectionPosition[1];
         return targetPosition;
     }
 
-    /**
-     * Create a clone of this Pink Ghost strategy.
-     *
-     * @return A clone of this Pink Ghost strategy.
-     */
-    @Override
-    public GhostStrategy clone() {
-        return new PinkGhostStrategy();
-    }
-
     /**
      * Get the target position for the scatter mode.
      * The target position is the top-left corner of the gameplay area.
@@ -1,7 +1,6 @@
 package pacman.ghosts.ghostStrategies;
 
-import pacman.game.GameSession;
-import pacman.game.GameplayPanel;
+import pacman.entities.PacmanEntity;
 import pacman.ghosts.Ghost;
 import pacman.helpers.Utils;
 
@@ -21,16 +20,6 @@ public class YellowGhostStrategy implements GhostStrategy {
         this.ghostEntity = ghostEntity;
     }
 
-    /**
-     * Create a clone of this Yellow Ghost strategy.
-     *
-     * @return A clone of this Yellow Ghost strategy.
-     */
-    @Override
-    public GhostStrategy clone() {
-        return new YellowGhostStrategy(ghostEntity);
-    }
-
     /**
      * Get the target position for the chase mode.
      * This target position is based on the distance to Pacman.
@@ -42,11 +31,12 @@ public class YellowGhostStrategy implements GhostStrategy {
     @Override
     public int[] getChaseTargetPosition() {
         int[] targetPosition = new int[2];
-        double distance = Utils.getDistance(ghostEntity.getxPos(), ghostEntity.getyPos(), GameSession.getPacmanEntity().getxPos(), GameSession.getPacmanEntity().getyPos());
+        PacmanEntity pacman = ghostEntity.getSession().getPacmanEntity();
+        double distance = Utils.getDistance(ghostEntity.getxPos(), ghostEntity.getyPos(), pacman.getxPos(), pacman.getyPos());
 
         if (distance >= 256) {
-            targetPosition[0] = GameSession.getPacmanEntity().getxPos();
-            targetPosition[1] = GameSession.getPacmanEntity().getyPos();
+            targetPosition[0] = pacman.getxPos();
+            targetPosition[1] = pacman.getyPos();
         } else {
             targetPosition = getScatterTargetPosition();
         }
@@ -61,6 +51,6 @@ public class YellowGhostStrategy implements GhostStrategy {
      */
     @Override
     public int[] getScatterTargetPosition() {
-        return new int[] { 0, GameplayPanel.gameHeight };
+        return new int[] { 0, ghostEntity.getSession().getLevel().getWorldHeight() };
     }
 }
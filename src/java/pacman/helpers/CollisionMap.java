@@ -0,0 +1,103 @@
+package pacman.helpers;
+
+import pacman.game.Tile;
+
+/**
+ * Class representing the walkability bitmap of the level.
+ * Each grid cell stores a set of collision layers, built once from the tiles of the level.
+ */
+public class CollisionMap {
+    // Layer of the regular walls
+    public static final int WALL_LAYER = 1;
+
+    // Layer of the ghost house gate
+    public static final int GHOST_HOUSE_LAYER = 1 << 1;
+
+    // All the collision layers
+    public static final int ALL_LAYERS = WALL_LAYER | GHOST_HOUSE_LAYER;
+
+    private final int width;
+    private final int height;
+    private final int cellDimension;
+    private final byte[] cells;
+
+    /**
+     * Constructor to build the collision map from the tiles of a level.
+     *
+     * @param tiles The {@link Tile} code of every cell, row by row.
+     * @param width Width of the level in cells.
+     * @param height Height of the level in cells.
+     * @param cellDimension The size of a grid cell in pixels.
+     */
+    public CollisionMap(byte[] tiles, int width, int height, int cellDimension) {
+        this.width = width;
+        this.height = height;
+        this.cellDimension = cellDimension;
+        this.cells = new byte[width * height];
+
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (tiles[cell] == Tile.WALL) {
+                cells[cell] = WALL_LAYER;
+            } else if (tiles[cell] == Tile.GHOST_HOUSE) {
+                cells[cell] = GHOST_HOUSE_LAYER;
+            }
+        }
+    }
+
+    /**
+     * Check if a box intersects a cell belonging to one of the given layers.
+     * Only the cells covered by the box are looked up, cells outside the map are empty.
+     *
+     * @param x X position of the box.
+     * @param y Y position of the box.
+     * @param boxWidth Width of the box.
+     * @param boxHeight Height of the box.
+     * @param layerMask The collision layers to test against.
+     * @return True if the box intersects one of the layers, false otherwise.
+     */
+    public boolean intersects(int x, int y, int boxWidth, int boxHeight, int layerMask) {
+        if (boxWidth <= 0 || boxHeight <= 0) {
+            return false;
+        }
+        int minX = Math.max(Math.floorDiv(x, cellDimension), 0);
+        int maxX = Math.min(Math.floorDiv(x + boxWidth - 1, cellDimension), width - 1);
+        int minY = Math.max(Math.floorDiv(y, cellDimension), 0);
+        int maxY = Math.min(Math.floorDiv(y + boxHeight - 1, cellDimension), height - 1);
+
+        for (int cellY = minY; cellY <= maxY; cellY++) {
+            int rowOffset = cellY * width;
+            for (int cellX = minX; cellX <= maxX; cellX++) {
+                if ((cells[rowOffset + cellX] & layerMask) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the collision layers of a grid cell.
+     *
+     * @param cellX X coordinate of the cell.
+     * @param cellY Y coordinate of the cell.
+     * @return The layers of the cell, or 0 if the cell is outside the map.
+     */
+    public int getLayers(int cellX, int cellY) {
+        if (cellX < 0 || cellX >= width || cellY < 0 || cellY >= height) {
+            return 0;
+        }
+        return cells[cellY * width + cellX];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getCellDimension() {
+        return cellDimension;
+    }
+}
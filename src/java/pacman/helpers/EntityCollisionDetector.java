@@ -5,6 +5,7 @@ import pacman.game.GameSession;
 
 /**
  * Class to detect collisions between entities in the game.
+ * Queries are answered by the spatial grid of the game session, only visiting the buckets around the entity.
  */
 public class EntityCollisionDetector {
     private GameSession game;
@@ -26,12 +27,43 @@ public class EntityCollisionDetector {
      * @return The entity that was collided with, or null if no collision occurred.
      */
     public Entity checkCollision(Entity obj, Class<? extends Entity> collisionCheck) {
-        for (Entity e : game.getGameEntities()) {
-            if (!e.isDestroyed() && collisionCheck.isInstance(e) && e.getHitbox().contains(obj.getxPos() + obj.getSize() / 2, obj.getyPos() + obj.getSize() / 2)) {
-                return e;
-            }
-        }
-        return null;
+        return game.getSpatialGrid().findContaining(obj.getxPos() + obj.getSize() / 2,
+                obj.getyPos() + obj.getSize() / 2, collisionCheck);
+    }
+
+    /**
+     * Check for a collision between an entity and any other entities having some flags.
+     *
+     * @param id The id of the entity to check for collisions.
+     * @param flags The {@link EntityStore} flags of the entities to check for collisions with.
+     * @return The id of the entity that was collided with, or -1 if no collision occurred.
+     */
+    public int checkCollision(int id, int flags) {
+        EntityStore store = game.getEntityStore();
+        int halfSize = store.getSize()[id] / 2;
+        return game.getSpatialGrid().findIntersecting(store.getX()[id] + halfSize, store.getY()[id] + halfSize, 1, 1,
+                flags);
+    }
+
+    /**
+     * Check for a collision between an entity and the Pac-Gums of the level.
+     *
+     * @param obj The entity to check for collisions.
+     * @return The cell of the Pac-Gum that was collided with, or -1 if no collision occurred.
+     */
+    public int checkPacGumCollision(Entity obj) {
+        return game.getPelletField().findPacGum(obj.getxPos() + obj.getSize() / 2, obj.getyPos() + obj.getSize() / 2);
+    }
+
+    /**
+     * Check for a collision between an entity and the Super Pac-Gums of the level.
+     *
+     * @param obj The entity to check for collisions.
+     * @return The cell of the Super Pac-Gum that was collided with, or -1 if no collision occurred.
+     */
+    public int checkSuperPacGumCollision(Entity obj) {
+        return game.getPelletField().findSuperPacGum(obj.getxPos() + obj.getSize() / 2,
+                obj.getyPos() + obj.getSize() / 2);
     }
 
     /**
@@ -42,11 +74,7 @@ public class EntityCollisionDetector {
      * @return The entity that was collided with, or null if no collision occurred.
      */
     public Entity checkCollisionRect(Entity obj, Class<? extends Entity> collisionCheck) {
-        for (Entity e : game.getGameEntities()) {
-            if (!e.isDestroyed() && collisionCheck.isInstance(e) && e.getHitbox().intersects(obj.getHitbox())) {
-                return e;
-            }
-        }
-        return null;
+        return game.getSpatialGrid().findIntersecting(obj.getxPos(), obj.getyPos(), obj.getSize(), obj.getSize(),
+                collisionCheck);
     }
 }
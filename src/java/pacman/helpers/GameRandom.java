@@ -0,0 +1,95 @@
+package pacman.helpers;
+
+/**
+ * Class providing the pseudo-random numbers of a game session.
+ * It is a SplitMix64 generator: its whole state is a single long, so drawing numbers does not allocate
+ * and a stream can be reproduced, saved and restored from its seed or state. Independent streams
+ * for parallel games are obtained with {@link #split()}.
+ */
+public class GameRandom {
+    // Increment of the generator state, the odd 64-bit golden ratio
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * Constructor to initialize the generator with an explicit seed.
+     *
+     * @param seed The seed of the stream.
+     */
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Generate a random long value.
+     *
+     * @return A random long value.
+     */
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generate a random integer between 0 (inclusive) and n (exclusive).
+     *
+     * @param n The upper bound (exclusive), must be positive.
+     * @return A random integer between 0 and n-1.
+     */
+    public int nextInt(int n) {
+        // Multiply the high 32 bits by the bound instead of taking a modulo, the bias is negligible for game use
+        return (int) (((nextLong() >>> 32) * n) >>> 32);
+    }
+
+    /**
+     * Generate a random integer between min (inclusive) and max (exclusive).
+     *
+     * @param min The lower bound (inclusive).
+     * @param max The upper bound (exclusive).
+     * @return A random integer between min and max-1.
+     */
+    public int nextInt(int min, int max) {
+        return nextInt(max - min) + min;
+    }
+
+    /**
+     * Generate a random boolean value.
+     *
+     * @return A random boolean value.
+     */
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Create an independent stream seeded from this one.
+     * Splitting the same stream in the same order always gives the same child streams.
+     *
+     * @return The new stream.
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    /**
+     * Get the current state of the generator.
+     *
+     * @return The generator state.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Set the state of the generator, either a seed or a state saved with {@link #getState()}.
+     *
+     * @param state The generator state.
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
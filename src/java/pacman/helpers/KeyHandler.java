@@ -4,6 +4,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.List;
 import pacman.game.GameplayPanel;
+import pacman.game.PlayerInput;
 import java.util.ArrayList;
 
 /**
@@ -44,12 +45,15 @@ public class KeyHandler implements KeyListener {
     public Key leftKey = new Key();
     public Key rightKey = new Key();
 
+    private final GameplayPanel game;
+
     /**
      * Constructor to initialize the KeyHandler with the gameplay panel.
      *
      * @param game The gameplay panel.
      */
     public KeyHandler(GameplayPanel game) {
+        this.game = game;
         game.addKeyListener(this);
     }
 
@@ -74,11 +78,37 @@ public class KeyHandler implements KeyListener {
         }
     }
 
+    /**
+     * Get the directions currently pressed as a player input mask.
+     *
+     * @return The player input mask, made of {@link PlayerInput} bits.
+     */
+    public int getInputMask() {
+        int input = PlayerInput.NONE;
+        if (upKey.isPressed) {
+            input |= PlayerInput.UP;
+        }
+        if (downKey.isPressed) {
+            input |= PlayerInput.DOWN;
+        }
+        if (leftKey.isPressed) {
+            input |= PlayerInput.LEFT;
+        }
+        if (rightKey.isPressed) {
+            input |= PlayerInput.RIGHT;
+        }
+        return input;
+    }
+
     @Override
     public void keyTyped(KeyEvent e) {}
 
     @Override
     public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            // F3 shows or hides the frame timings
+            game.toggleProfilerOverlay();
+        }
         toggle(e, true);
     }
 
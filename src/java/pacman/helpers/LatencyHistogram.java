@@ -0,0 +1,116 @@
+package pacman.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Class representing a histogram of durations in nanoseconds, with a fixed set of buckets.
+ * Buckets are log-linear: every power of two is split into 16 buckets, so a recorded duration is known within 6%
+ * whatever its magnitude. Recording a value never allocates, it only increments a counter.
+ */
+public class LatencyHistogram {
+    // Number of buckets per power of two, as a power of two
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // Largest power of two tracked, longer durations are counted in the last bucket (2^40 ns is about 18 minutes)
+    private static final int MAX_EXPONENT = 40;
+
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long maxNanos;
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos The duration in nanoseconds, negative durations are counted as 0.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[getBucket(nanos)]++;
+        totalCount++;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * Get the duration below which a fraction of the recorded durations fall.
+     *
+     * @param percentile The fraction of the durations, between 0 and 1.
+     * @return The upper bound of the bucket holding the percentile, in nanoseconds, 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * totalCount));
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            count += counts[bucket];
+            if (count >= rank) {
+                return Math.min(getBucketUpperBound(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Get the longest recorded duration.
+     *
+     * @return The maximum duration in nanoseconds.
+     */
+    public long getMax() {
+        return maxNanos;
+    }
+
+    /**
+     * Get the number of recorded durations.
+     *
+     * @return The number of durations.
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Forget every recorded duration.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Get the bucket counting a duration. Durations below 16 ns have a bucket each, above the exponent selects a
+     * row of 16 buckets and the 4 bits following the leading bit select the bucket in the row.
+     */
+    private static int getBucket(long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Get the largest duration counted by a bucket.
+     */
+    private static long getBucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKET_COUNT;
+        long lowerBound = (1L << exponent) | ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
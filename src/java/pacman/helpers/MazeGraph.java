@@ -0,0 +1,308 @@
+package pacman.helpers;
+
+/**
+ * Class representing the walkable tiles of the level as a graph of junctions and corridors.
+ * A tile is the top-left cell of an entity box that does not collide with the blocking layers.
+ * Junctions are the tiles where a moving entity has a choice to make (or a dead end), corridors link them.
+ * The graph also carries the trigger zones of the ghost house.
+ */
+public class MazeGraph {
+    // Directions, matching the sprite directions of the moving entities (0 - right, 1 - left, 2 - up, 3 - down)
+    public static final int RIGHT = 0;
+    public static final int LEFT = 1;
+    public static final int UP = 2;
+    public static final int DOWN = 3;
+
+    // Trigger zones
+    public static final int NO_TRIGGER = 0;
+    public static final int HOUSE_DOOR_TRIGGER = 1;
+    public static final int HOUSE_INSIDE_TRIGGER = 2;
+
+    private static final int[] DIRECTION_X = { 1, -1, 0, 0 };
+    private static final int[] DIRECTION_Y = { 0, 0, -1, 1 };
+
+    private final int width;
+    private final int height;
+    private final int cellDimension;
+
+    // Tile index of every walkable cell, -1 for the other cells
+    private final int[] tileIndex;
+    private final int[] tileCells;
+    private final int tileCount;
+
+    // Neighbouring tiles of every tile, 4 entries per tile in direction order, -1 if there is none
+    private final int[] neighbours;
+
+    // Bit mask of the free directions of every tile
+    private final byte[] exits;
+
+    // Corridors leaving every junction, 4 entries per tile in direction order, -1 if there is none
+    private final int[] edgeTarget;
+    private final int[] edgeLength;
+    private int junctionCount;
+
+    // Trigger zone of every cell
+    private final byte[] triggers;
+    private int houseDoorX = -1;
+    private int houseDoorY = -1;
+    private int houseInsideX = -1;
+    private int houseInsideY = -1;
+
+    /**
+     * Constructor to build the maze graph of the level.
+     *
+     * @param collisionMap The collision map of the level.
+     * @param blockingLayers The collision layers that cannot be walked through.
+     * @param entitySize Size of the moving entities in pixels.
+     */
+    public MazeGraph(CollisionMap collisionMap, int blockingLayers, int entitySize) {
+        this.width = collisionMap.getWidth();
+        this.height = collisionMap.getHeight();
+        this.cellDimension = collisionMap.getCellDimension();
+        this.tileIndex = new int[width * height];
+
+        int count = 0;
+        for (int cell = 0; cell < tileIndex.length; cell++) {
+            int x = cell % width * cellDimension;
+            int y = cell / width * cellDimension;
+            tileIndex[cell] = collisionMap.intersects(x, y, entitySize, entitySize, blockingLayers) ? -1 : count++;
+        }
+        this.tileCount = count;
+
+        this.tileCells = new int[tileCount];
+        for (int cell = 0; cell < tileIndex.length; cell++) {
+            if (tileIndex[cell] >= 0) {
+                tileCells[tileIndex[cell]] = cell;
+            }
+        }
+
+        this.neighbours = new int[tileCount * 4];
+        this.exits = new byte[tileCount];
+        for (int tile = 0; tile < tileCount; tile++) {
+            int cellX = tileCells[tile] % width;
+            int cellY = tileCells[tile] / width;
+            for (int direction = 0; direction < 4; direction++) {
+                // Horizontal neighbours wrap around like the tunnels of the maze
+                int neighbour = getTileAtCell(Math.floorMod(cellX + DIRECTION_X[direction], width),
+                        cellY + DIRECTION_Y[direction]);
+                neighbours[tile * 4 + direction] = neighbour;
+                if (neighbour >= 0) {
+                    exits[tile] |= 1 << direction;
+                }
+            }
+        }
+
+        this.edgeTarget = new int[tileCount * 4];
+        this.edgeLength = new int[tileCount * 4];
+        computeCorridors();
+
+        this.triggers = new byte[width * height];
+        computeTriggers(collisionMap, entitySize / cellDimension);
+    }
+
+    /**
+     * Get the tile at a position.
+     *
+     * @param x X position in pixels.
+     * @param y Y position in pixels.
+     * @return The tile index, or -1 if the position is not on a walkable tile.
+     */
+    public int getTile(int x, int y) {
+        if (x % cellDimension != 0 || y % cellDimension != 0) {
+            return -1;
+        }
+        return getTileAtCell(x / cellDimension, y / cellDimension);
+    }
+
+    /**
+     * Get the tile at a grid cell.
+     *
+     * @param cellX X coordinate of the cell.
+     * @param cellY Y coordinate of the cell.
+     * @return The tile index, or -1 if the cell is not a walkable tile.
+     */
+    public int getTileAtCell(int cellX, int cellY) {
+        if (cellX < 0 || cellX >= width || cellY < 0 || cellY >= height) {
+            return -1;
+        }
+        return tileIndex[cellY * width + cellX];
+    }
+
+    /**
+     * Get the grid cell of a tile.
+     *
+     * @param tile The tile index.
+     * @return The cell index, row-major.
+     */
+    public int getCell(int tile) {
+        return tileCells[tile];
+    }
+
+    /**
+     * Get the neighbouring tile in a direction.
+     *
+     * @param tile The tile index.
+     * @param direction The direction to look at.
+     * @return The neighbouring tile, or -1 if there is none.
+     */
+    public int getNeighbour(int tile, int direction) {
+        return neighbours[tile * 4 + direction];
+    }
+
+    /**
+     * Get the free directions of a tile.
+     *
+     * @param tile The tile index.
+     * @return A bit mask with a bit set for every free direction.
+     */
+    public int getExits(int tile) {
+        return exits[tile];
+    }
+
+    /**
+     * Check if a tile is a junction, meaning a tile with more than two exits or a dead end.
+     *
+     * @param tile The tile index.
+     * @return True if the tile is a junction, false otherwise.
+     */
+    public boolean isJunction(int tile) {
+        int exitCount = Integer.bitCount(exits[tile]);
+        return exitCount != 2;
+    }
+
+    /**
+     * Get the junction reached by following the corridor leaving a junction in a direction.
+     *
+     * @param junction The tile index of the junction.
+     * @param direction The direction of the corridor.
+     * @return The tile index of the junction at the end of the corridor, or -1 if there is none.
+     */
+    public int getEdgeTarget(int junction, int direction) {
+        return edgeTarget[junction * 4 + direction];
+    }
+
+    /**
+     * Get the length of the corridor leaving a junction in a direction.
+     *
+     * @param junction The tile index of the junction.
+     * @param direction The direction of the corridor.
+     * @return The length of the corridor in tiles, or -1 if there is none.
+     */
+    public int getEdgeLength(int junction, int direction) {
+        return edgeLength[junction * 4 + direction];
+    }
+
+    /**
+     * Get the trigger zone at a position.
+     *
+     * @param x X position in pixels.
+     * @param y Y position in pixels.
+     * @return The trigger zone, or NO_TRIGGER if there is none.
+     */
+    public int getTrigger(int x, int y) {
+        if (x < 0 || y < 0 || x % cellDimension != 0 || y % cellDimension != 0
+                || x / cellDimension >= width || y / cellDimension >= height) {
+            return NO_TRIGGER;
+        }
+        return triggers[y / cellDimension * width + x / cellDimension];
+    }
+
+    /**
+     * Get the reverse of a direction.
+     *
+     * @param direction The direction.
+     * @return The opposite direction.
+     */
+    public static int reverse(int direction) {
+        return direction ^ 1;
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    public int getJunctionCount() {
+        return junctionCount;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getCellDimension() {
+        return cellDimension;
+    }
+
+    public int getHouseDoorX() {
+        return houseDoorX;
+    }
+
+    public int getHouseDoorY() {
+        return houseDoorY;
+    }
+
+    public int getHouseInsideX() {
+        return houseInsideX;
+    }
+
+    public int getHouseInsideY() {
+        return houseInsideY;
+    }
+
+    /**
+     * Walk the corridors leaving every junction until the next junction.
+     */
+    private void computeCorridors() {
+        for (int tile = 0; tile < tileCount; tile++) {
+            for (int direction = 0; direction < 4; direction++) {
+                edgeTarget[tile * 4 + direction] = -1;
+                edgeLength[tile * 4 + direction] = -1;
+            }
+            if (!isJunction(tile)) {
+                continue;
+            }
+            junctionCount++;
+            for (int direction = 0; direction < 4; direction++) {
+                int current = neighbours[tile * 4 + direction];
+                int heading = direction;
+                int length = 1;
+                // Corridor tiles have exactly two exits, keep the one we did not come from
+                while (current >= 0 && !isJunction(current) && length <= tileCount) {
+                    heading = Integer.numberOfTrailingZeros(exits[current] & ~(1 << reverse(heading)));
+                    current = neighbours[current * 4 + heading];
+                    length++;
+                }
+                if (current >= 0 && length <= tileCount) {
+                    edgeTarget[tile * 4 + direction] = current;
+                    edgeLength[tile * 4 + direction] = length;
+                }
+            }
+        }
+    }
+
+    /**
+     * Place the ghost house triggers around the ghost house gate.
+     * The door is the tile right above the gate, the inside is the tile starting on the gate.
+     */
+    private void computeTriggers(CollisionMap collisionMap, int entityCells) {
+        for (int cellY = 0; cellY < height; cellY++) {
+            for (int cellX = 0; cellX < width; cellX++) {
+                if ((collisionMap.getLayers(cellX, cellY) & CollisionMap.GHOST_HOUSE_LAYER) != 0) {
+                    houseDoorX = cellX * cellDimension;
+                    houseDoorY = (cellY - entityCells) * cellDimension;
+                    houseInsideX = cellX * cellDimension;
+                    houseInsideY = cellY * cellDimension;
+                    if (cellY - entityCells >= 0) {
+                        triggers[(cellY - entityCells) * width + cellX] = HOUSE_DOOR_TRIGGER;
+                    }
+                    triggers[cellY * width + cellX] = HOUSE_INSIDE_TRIGGER;
+                    return;
+                }
+            }
+        }
+    }
+}
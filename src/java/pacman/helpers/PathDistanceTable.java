@@ -0,0 +1,168 @@
+package pacman.helpers;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Class holding the maze distances between every pair of walkable tiles of a maze graph.
+ * The distances are computed once by a breadth-first search from every tile, run in parallel.
+ * The table grows with the square of the number of tiles, so it is not built for large mazes: their distances are
+ * the straight-line distances, as in the original game.
+ */
+public class PathDistanceTable {
+    // Distance stored for tiles that cannot reach each other
+    private static final char UNREACHABLE = Character.MAX_VALUE;
+
+    // Largest number of tiles of a maze whose table is built, the table then takes 32 MB
+    private static final int MAX_TILE_COUNT = 4096;
+
+    private final MazeGraph graph;
+    private final int width;
+    private final int height;
+    private final int cellDimension;
+
+    // Nearest tile of every cell, used to map arbitrary targets onto the maze
+    private final int[] nearestTile;
+
+    // Distance in cells between every pair of tiles, row-major by source tile
+    private final char[] distances;
+    private final int tileCount;
+
+    /**
+     * Constructor to build the distance table of a maze graph.
+     *
+     * @param graph The maze graph of the level.
+     */
+    public PathDistanceTable(MazeGraph graph) {
+        this.graph = graph;
+        this.width = graph.getWidth();
+        this.height = graph.getHeight();
+        this.cellDimension = graph.getCellDimension();
+        this.tileCount = graph.getTileCount();
+        if (tileCount > MAX_TILE_COUNT) {
+            this.nearestTile = null;
+            this.distances = null;
+            System.out.println("Distance table: " + tileCount + " tiles, too many to build, using straight-line "
+                    + "distances");
+            return;
+        }
+        this.nearestTile = computeNearestTiles();
+
+        long start = System.nanoTime();
+        this.distances = new char[tileCount * tileCount];
+        IntStream.range(0, tileCount).parallel().forEach(this::computeDistancesFrom);
+        System.out.println("Distance table: " + tileCount + " tiles, " + getMemoryFootprint() / 1024 + " KB, built in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    /**
+     * Get the maze distance between two positions, in pixels.
+     * Positions are mapped to the nearest walkable tile. When the tiles cannot reach each other,
+     * or when the table was not built, the straight-line distance is returned instead.
+     *
+     * @param x X position of the start.
+     * @param y Y position of the start.
+     * @param targetX X position of the target.
+     * @param targetY Y position of the target.
+     * @return The distance between the two positions.
+     */
+    public double getDistance(int x, int y, int targetX, int targetY) {
+        if (distances == null) {
+            return Utils.getDistance(x, y, targetX, targetY);
+        }
+        char distance = distances[getNearestTile(x, y) * tileCount + getNearestTile(targetX, targetY)];
+        if (distance == UNREACHABLE) {
+            return Utils.getDistance(x, y, targetX, targetY);
+        }
+        return distance * cellDimension;
+    }
+
+    /**
+     * Get the number of walkable tiles.
+     *
+     * @return The number of tiles.
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Get the memory used by the lookup arrays.
+     *
+     * @return The memory footprint in bytes.
+     */
+    public long getMemoryFootprint() {
+        if (distances == null) {
+            return 0;
+        }
+        return (long) distances.length * Character.BYTES + (long) nearestTile.length * Integer.BYTES;
+    }
+
+    private int getNearestTile(int x, int y) {
+        int cellX = Math.max(0, Math.min(Math.floorDiv(x, cellDimension), width - 1));
+        int cellY = Math.max(0, Math.min(Math.floorDiv(y, cellDimension), height - 1));
+        return nearestTile[cellY * width + cellX];
+    }
+
+    /**
+     * Breadth-first search from every tile at once over all the cells, ignoring walls.
+     */
+    private int[] computeNearestTiles() {
+        int[] nearest = new int[width * height];
+        Arrays.fill(nearest, -1);
+        int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        for (int tile = 0; tile < tileCount; tile++) {
+            int cell = graph.getCell(tile);
+            nearest[cell] = tile;
+            queue[tail++] = cell;
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int cellX = cell % width;
+            int cellY = cell / width;
+            if (cellX > 0 && nearest[cell - 1] < 0) {
+                nearest[cell - 1] = nearest[cell];
+                queue[tail++] = cell - 1;
+            }
+            if (cellX < width - 1 && nearest[cell + 1] < 0) {
+                nearest[cell + 1] = nearest[cell];
+                queue[tail++] = cell + 1;
+            }
+            if (cellY > 0 && nearest[cell - width] < 0) {
+                nearest[cell - width] = nearest[cell];
+                queue[tail++] = cell - width;
+            }
+            if (cellY < height - 1 && nearest[cell + width] < 0) {
+                nearest[cell + width] = nearest[cell];
+                queue[tail++] = cell + width;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Breadth-first search from a tile, filling its row of the table.
+     */
+    private void computeDistancesFrom(int source) {
+        int offset = source * tileCount;
+        Arrays.fill(distances, offset, offset + tileCount, UNREACHABLE);
+        int[] queue = new int[tileCount];
+        int head = 0;
+        int tail = 0;
+        distances[offset + source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int tile = queue[head++];
+            char next = (char) (distances[offset + tile] + 1);
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbour = graph.getNeighbour(tile, direction);
+                if (neighbour >= 0 && distances[offset + neighbour] == UNREACHABLE) {
+                    distances[offset + neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+}
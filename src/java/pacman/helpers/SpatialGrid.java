@@ -0,0 +1,337 @@
+package pacman.helpers;
+
+import java.util.Arrays;
+
+import pacman.entities.Entity;
+import pacman.entities.EntityStore;
+
+/**
+ * Class representing a uniform grid of buckets used to index entities by position.
+ * An entity is stored in the bucket holding its top-left corner, so queries only visit the neighbouring buckets.
+ * Entities are indexed by their id in an {@link EntityStore}: every bucket is a doubly linked list threaded through
+ * int arrays, so moving an entity between buckets never allocates, and a bucket keeps its entities in the order they
+ * entered it.
+ */
+public class SpatialGrid {
+    private final EntityStore store;
+    private final int bucketSize;
+    private final int columns;
+    private final int rows;
+
+    // First and last entity of every bucket, -1 if the bucket is empty
+    private final int[] bucketHead;
+    private final int[] bucketTail;
+
+    // Previous and next entity of every indexed entity in its bucket, -1 at the ends
+    private int[] previous = new int[0];
+    private int[] next = new int[0];
+
+    /**
+     * Constructor to initialize an empty spatial grid.
+     *
+     * @param store The store holding the indexed entities.
+     * @param width Width of the indexed area in pixels.
+     * @param height Height of the indexed area in pixels.
+     * @param bucketSize Size of a bucket in pixels, must not be smaller than the largest indexed entity.
+     */
+    public SpatialGrid(EntityStore store, int width, int height, int bucketSize) {
+        this.store = store;
+        this.bucketSize = bucketSize;
+        this.columns = width / bucketSize + 1;
+        this.rows = height / bucketSize + 1;
+        this.bucketHead = new int[columns * rows];
+        this.bucketTail = new int[columns * rows];
+        Arrays.fill(bucketHead, -1);
+        Arrays.fill(bucketTail, -1);
+    }
+
+    /**
+     * Get the number of ints the buckets take in a {@link pacman.game.WorldSnapshot}.
+     * Only the links between the indexed entities are written, so the size grows with the entities and not with the
+     * indexed area.
+     *
+     * @return The size of the state.
+     */
+    public int getStateSize() {
+        return next.length * 2;
+    }
+
+    /**
+     * Write the links between the entities of every bucket into a buffer. The bucket of every entity is a component
+     * of the store, written with it, and the first and last entities of the buckets are found back from both.
+     *
+     * @param buffer The buffer to write into.
+     * @param offset The index of the first int to write.
+     * @return The index following the last written int.
+     */
+    public int writeState(int[] buffer, int offset) {
+        System.arraycopy(previous, 0, buffer, offset, previous.length);
+        offset += previous.length;
+        System.arraycopy(next, 0, buffer, offset, next.length);
+        return offset + next.length;
+    }
+
+    /**
+     * Empty the buckets holding the indexed entities, before their rows are overwritten by a restored state.
+     * Only these buckets are visited, the others are already empty.
+     */
+    public void clearBuckets() {
+        int[] gridBucket = store.getGridBucket();
+        int count = Math.min(next.length, store.getCount());
+        for (int id = 0; id < count; id++) {
+            int bucket = gridBucket[id];
+            if (bucket >= 0) {
+                bucketHead[bucket] = -1;
+                bucketTail[bucket] = -1;
+            }
+        }
+    }
+
+    /**
+     * Read back the links written by {@link #writeState(int[], int)} from a grid indexing the same entities, and
+     * relink the buckets in the order they were written. The buckets must have been emptied by
+     * {@link #clearBuckets()} and the rows of the entities restored.
+     *
+     * @param buffer The buffer to read from.
+     * @param offset The index of the first int to read.
+     * @return The index following the last read int.
+     */
+    public int readState(int[] buffer, int offset) {
+        System.arraycopy(buffer, offset, previous, 0, previous.length);
+        offset += previous.length;
+        System.arraycopy(buffer, offset, next, 0, next.length);
+        int[] gridBucket = store.getGridBucket();
+        int count = Math.min(next.length, store.getCount());
+        for (int id = 0; id < count; id++) {
+            int bucket = gridBucket[id];
+            if (bucket >= 0) {
+                if (previous[id] < 0) {
+                    bucketHead[bucket] = id;
+                }
+                if (next[id] < 0) {
+                    bucketTail[bucket] = id;
+                }
+            }
+        }
+        return offset + next.length;
+    }
+
+    /**
+     * Add an entity to the bucket matching its position.
+     *
+     * @param entity The entity to add.
+     */
+    public void add(Entity entity) {
+        add(entity.getId());
+    }
+
+    /**
+     * Add an entity to the bucket matching its position.
+     *
+     * @param id The id of the entity to add.
+     */
+    public void add(int id) {
+        if (id >= next.length) {
+            previous = Arrays.copyOf(previous, store.getCapacity());
+            next = Arrays.copyOf(next, store.getCapacity());
+        }
+        link(id, getBucket(store.getX()[id], store.getY()[id]));
+    }
+
+    /**
+     * Remove an entity from the grid.
+     *
+     * @param entity The entity to remove.
+     */
+    public void remove(Entity entity) {
+        int id = entity.getId();
+        if (store.getGridBucket()[id] >= 0) {
+            unlink(id);
+        }
+    }
+
+    /**
+     * Move an entity to another bucket if it crossed a bucket border since it was last indexed.
+     *
+     * @param entity The entity to update.
+     */
+    public void update(Entity entity) {
+        update(entity.getId());
+    }
+
+    /**
+     * Move an entity to another bucket if it crossed a bucket border since it was last indexed.
+     *
+     * @param id The id of the entity to update.
+     */
+    public void update(int id) {
+        int current = store.getGridBucket()[id];
+        if (current < 0) {
+            return;
+        }
+        int bucket = getBucket(store.getX()[id], store.getY()[id]);
+        if (bucket != current) {
+            unlink(id);
+            link(id, bucket);
+        }
+    }
+
+    /**
+     * Find an entity of a specified type whose hitbox contains a point.
+     *
+     * @param x X coordinate of the point.
+     * @param y Y coordinate of the point.
+     * @param type The class of entities to look for.
+     * @return The first matching entity, or null if there is none.
+     */
+    public Entity findContaining(int x, int y, Class<? extends Entity> type) {
+        return findIntersecting(x, y, 1, 1, type);
+    }
+
+    /**
+     * Find an entity of a specified type whose hitbox intersects a rectangle.
+     *
+     * @param x X position of the rectangle.
+     * @param y Y position of the rectangle.
+     * @param width Width of the rectangle.
+     * @param height Height of the rectangle.
+     * @param type The class of entities to look for.
+     * @return The first matching entity, or null if there is none.
+     */
+    public Entity findIntersecting(int x, int y, int width, int height, Class<? extends Entity> type) {
+        int id = find(x, y, width, height, 0, type);
+        return id >= 0 ? store.getView(id) : null;
+    }
+
+    /**
+     * Find an entity having some flags whose hitbox intersects a rectangle.
+     *
+     * @param x X position of the rectangle.
+     * @param y Y position of the rectangle.
+     * @param width Width of the rectangle.
+     * @param height Height of the rectangle.
+     * @param flags The {@link EntityStore} flags the entity must have.
+     * @return The id of the first matching entity, or -1 if there is none.
+     */
+    public int findIntersecting(int x, int y, int width, int height, int flags) {
+        return find(x, y, width, height, flags, null);
+    }
+
+    /**
+     * Collect every entity having some flags whose hitbox intersects a rectangle, such as the view of a camera.
+     * Only the buckets overlapping the rectangle are visited, so the cost depends on the size of the rectangle and
+     * not on the size of the indexed area.
+     *
+     * @param x X position of the rectangle.
+     * @param y Y position of the rectangle.
+     * @param width Width of the rectangle.
+     * @param height Height of the rectangle.
+     * @param flags The {@link EntityStore} flags the entities must have.
+     * @param result The array receiving the ids of the matching entities, in bucket order. Matches beyond its length
+     *               are dropped.
+     * @return The number of ids stored in the array.
+     */
+    public int findAllIntersecting(int x, int y, int width, int height, int flags, int[] result) {
+        int[] entityFlags = store.getFlags();
+        int[] entityX = store.getX();
+        int[] entityY = store.getY();
+        int[] entitySize = store.getSize();
+
+        int minColumn = clamp(Math.floorDiv(x - bucketSize, bucketSize), columns);
+        int maxColumn = clamp(Math.floorDiv(x + width - 1, bucketSize), columns);
+        int minRow = clamp(Math.floorDiv(y - bucketSize, bucketSize), rows);
+        int maxRow = clamp(Math.floorDiv(y + height - 1, bucketSize), rows);
+
+        int count = 0;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int id = bucketHead[row * columns + column]; id >= 0 && count < result.length; id = next[id]) {
+                    if ((entityFlags[id] & (flags | EntityStore.DESTROYED)) == flags) {
+                        int left = entityX[id];
+                        int top = entityY[id];
+                        int size = entitySize[id];
+                        if (left < x + width && x < left + size && top < y + height && y < top + size) {
+                            result[count++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Find an entity having some flags and of some type whose hitbox intersects a rectangle.
+     */
+    private int find(int x, int y, int width, int height, int flags, Class<? extends Entity> type) {
+        int[] entityFlags = store.getFlags();
+        int[] entityX = store.getX();
+        int[] entityY = store.getY();
+        int[] entitySize = store.getSize();
+
+        // Entities are indexed by their top-left corner, so the ones overlapping the rectangle can start one bucket before it
+        int minColumn = clamp(Math.floorDiv(x - bucketSize, bucketSize), columns);
+        int maxColumn = clamp(Math.floorDiv(x + width - 1, bucketSize), columns);
+        int minRow = clamp(Math.floorDiv(y - bucketSize, bucketSize), rows);
+        int maxRow = clamp(Math.floorDiv(y + height - 1, bucketSize), rows);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int id = bucketHead[row * columns + column]; id >= 0; id = next[id]) {
+                    if ((entityFlags[id] & (flags | EntityStore.DESTROYED)) == flags
+                            && (type == null || type.isInstance(store.getView(id)))) {
+                        int left = entityX[id];
+                        int top = entityY[id];
+                        int size = entitySize[id];
+                        if (left < x + width && x < left + size && top < y + height && y < top + size) {
+                            return id;
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Append an entity to the end of a bucket.
+     */
+    private void link(int id, int bucket) {
+        int tail = bucketTail[bucket];
+        previous[id] = tail;
+        next[id] = -1;
+        if (tail >= 0) {
+            next[tail] = id;
+        } else {
+            bucketHead[bucket] = id;
+        }
+        bucketTail[bucket] = id;
+        store.getGridBucket()[id] = bucket;
+    }
+
+    /**
+     * Remove an entity from its bucket.
+     */
+    private void unlink(int id) {
+        int bucket = store.getGridBucket()[id];
+        if (previous[id] >= 0) {
+            next[previous[id]] = next[id];
+        } else {
+            bucketHead[bucket] = next[id];
+        }
+        if (next[id] >= 0) {
+            previous[next[id]] = previous[id];
+        } else {
+            bucketTail[bucket] = previous[id];
+        }
+        store.getGridBucket()[id] = -1;
+    }
+
+    private int getBucket(int x, int y) {
+        return clamp(Math.floorDiv(y, bucketSize), rows) * columns + clamp(Math.floorDiv(x, bucketSize), columns);
+    }
+
+    private static int clamp(int value, int count) {
+        return Math.max(0, Math.min(value, count - 1));
+    }
+}
@@ -0,0 +1,137 @@
+package pacman.helpers;
+
+import javax.imageio.ImageIO;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Class holding the sprite sheets of the game, shared by the whole process.
+ * Every sheet file is decoded once, sliced into frames and copied into images compatible with the screen,
+ * which Java2D can keep in video memory since they are never drawn into again.
+ * Sheets are served by file name and frame size, so restarting a game does not read any file.
+ * Whole images such as the maze background are served the same way.
+ * Sheets are also numbered in loading order, so that a frame can be found back from its sprite id.
+ */
+public final class SpriteAtlas {
+    // Directory of the sprite files
+    private static final String SPRITE_DIRECTORY = "src/resources/sprites/";
+
+    private static final Map<String, SpriteSheet> sheets = new ConcurrentHashMap<>();
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    // Loaded sheets by id
+    private static final List<SpriteSheet> sheetsById = new CopyOnWriteArrayList<>();
+
+    private SpriteAtlas() {}
+
+    /**
+     * Get a sprite sheet, loading and slicing it the first time it is requested.
+     *
+     * @param spriteName The name of the sprite file.
+     * @param frameSize Width and height of a frame in pixels.
+     * @return The sprite sheet, or null if the file cannot be read.
+     */
+    public static SpriteSheet getSheet(String spriteName, int frameSize) {
+        return sheets.computeIfAbsent(spriteName + "@" + frameSize, key -> loadSheet(spriteName, frameSize));
+    }
+
+    /**
+     * Get the frame matching a sprite id.
+     *
+     * @param spriteId The sprite id, as returned by {@link SpriteSheet#getSpriteId(int)}.
+     * @return The sprite frame.
+     */
+    public static BufferedImage getSprite(int spriteId) {
+        return sheetsById.get(spriteId >>> SpriteSheet.FRAME_BITS)
+                .getFrame(spriteId & ((1 << SpriteSheet.FRAME_BITS) - 1));
+    }
+
+    /**
+     * Get a whole sprite image, loading it the first time it is requested.
+     *
+     * @param spriteName The name of the sprite file.
+     * @return The sprite image in a screen-compatible format, or null if the file cannot be read.
+     */
+    public static BufferedImage getImage(String spriteName) {
+        return images.computeIfAbsent(spriteName, key -> {
+            BufferedImage image = readImage(spriteName);
+            if (image == null) {
+                return null;
+            }
+            BufferedImage compatible = createCompatibleImage(image.getWidth(), image.getHeight(),
+                    Transparency.TRANSLUCENT);
+            Graphics2D graphics = compatible.createGraphics();
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+            return compatible;
+        });
+    }
+
+    /**
+     * Create an empty image in the format of the screen, or in a plain format without a screen.
+     *
+     * @param width Width of the image in pixels.
+     * @param height Height of the image in pixels.
+     * @param transparency The transparency of the image, as a {@link Transparency} constant.
+     * @return The new image.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+                    : BufferedImage.TYPE_INT_ARGB_PRE;
+            return new BufferedImage(width, height, type);
+        }
+        GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return configuration.createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * Decode a sprite file and slice it into frames.
+     */
+    private static SpriteSheet loadSheet(String spriteName, int frameSize) {
+        BufferedImage image = readImage(spriteName);
+        if (image == null) {
+            return null;
+        }
+        BufferedImage[] frames = new BufferedImage[image.getWidth() / frameSize];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = createCompatibleImage(frameSize, frameSize, Transparency.TRANSLUCENT);
+            Graphics2D graphics = frames[i].createGraphics();
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.drawImage(image, 0, 0, frameSize, frameSize, i * frameSize, 0, (i + 1) * frameSize, frameSize,
+                    null);
+            graphics.dispose();
+        }
+        return registerSheet(frames, frameSize);
+    }
+
+    /**
+     * Number a sliced sheet and keep it for lookups by id.
+     */
+    private static synchronized SpriteSheet registerSheet(BufferedImage[] frames, int frameSize) {
+        SpriteSheet sheet = new SpriteSheet(sheetsById.size(), frames, frameSize);
+        sheetsById.add(sheet);
+        return sheet;
+    }
+
+    /**
+     * Decode a sprite file.
+     */
+    private static BufferedImage readImage(String spriteName) {
+        try {
+            return ImageIO.read(new File(SPRITE_DIRECTORY + spriteName));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
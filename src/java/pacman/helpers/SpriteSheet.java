@@ -0,0 +1,64 @@
+package pacman.helpers;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Class representing a sprite sheet sliced into square animation frames.
+ * The frames are laid out from left to right in the sheet file; they are never modified once sliced,
+ * so a sheet can be shared by every entity and every game session.
+ * A frame is also known by a sprite id made of the id of its sheet and its index, which can be stored in
+ * primitive arrays and turned back into the frame by the {@link SpriteAtlas}.
+ */
+public class SpriteSheet {
+    // Number of bits of a sprite id holding the index of the frame
+    public static final int FRAME_BITS = 8;
+
+    private final int id;
+    private final BufferedImage[] frames;
+    private final int frameSize;
+
+    /**
+     * Constructor to initialize a sprite sheet from its sliced frames.
+     *
+     * @param id The id of the sheet in the sprite atlas.
+     * @param frames The frames of the sheet, from left to right.
+     * @param frameSize Width and height of a frame in pixels.
+     */
+    public SpriteSheet(int id, BufferedImage[] frames, int frameSize) {
+        this.id = id;
+        this.frames = frames;
+        this.frameSize = frameSize;
+    }
+
+    /**
+     * Get the sprite id of a frame of the sheet.
+     *
+     * @param index The index of the frame, from the left of the sheet.
+     * @return The sprite id of the frame.
+     */
+    public int getSpriteId(int index) {
+        return id << FRAME_BITS | index;
+    }
+
+    /**
+     * Get a frame of the sheet.
+     *
+     * @param index The index of the frame, from the left of the sheet.
+     * @return The frame image.
+     */
+    public BufferedImage getFrame(int index) {
+        return frames[index];
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+}
@@ -0,0 +1,66 @@
+package pacman.helpers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Class handing values from one writer thread to one reader thread without locks, through three buffers.
+ * The writer fills its own buffer and publishes it by swapping it with the shared one; the reader takes the
+ * shared buffer when a new one was published, swapping its own back in. Each buffer belongs to a single thread at a
+ * time, so the writer never waits for a slow reader: unread values are simply replaced by newer ones.
+ *
+ * @param <T> The type of the buffers, reused forever.
+ */
+public class TripleBuffer<T> {
+    // Bits of the shared slot: the index of the shared buffer, and whether it was published since the last read
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger shared = new AtomicInteger(1);
+
+    // Buffers owned by the writer and by the reader
+    private int writeIndex = 0;
+    private int readIndex = 2;
+
+    /**
+     * Constructor to initialize the three buffers.
+     *
+     * @param factory The factory creating each buffer.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * Get the buffer to fill before the next publication. Must only be called by the writer thread.
+     *
+     * @return The buffer owned by the writer.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    /**
+     * Publish the filled buffer, the writer gets another buffer to fill. Must only be called by the writer thread.
+     */
+    public void publish() {
+        writeIndex = shared.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Get the latest published buffer. It stays valid until the next call. Must only be called by the reader thread.
+     *
+     * @return The latest published buffer, or the buffer read last time if nothing was published since.
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer() {
+        if ((shared.get() & FRESH) != 0) {
+            readIndex = shared.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return (T) buffers[readIndex];
+    }
+}
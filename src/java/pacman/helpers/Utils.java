@@ -2,7 +2,6 @@ package pacman.helpers;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * Utility class providing various helper methods.
@@ -68,36 +67,4 @@ public class Utils {
     public static double directionConverter(int spriteDirection) {
         return directionConverterMap.get(spriteDirection);
     }
-
-    /**
-     * Generate a random integer between 0 (inclusive) and n (exclusive).
-     *
-     * @param n The upper bound (exclusive).
-     * @return A random integer between 0 and n-1.
-     */
-    public static int randomInt(int n) {
-        Random r = new Random();
-        return r.nextInt(n);
-    }
-
-    /**
-     * Generate a random integer between min (inclusive) and max (exclusive).
-     *
-     * @param min The lower bound (inclusive).
-     * @param max The upper bound (exclusive).
-     * @return A random integer between min and max-1.
-     */
-    public static int randomInt(int min, int max) {
-        Random r = new Random();
-        return r.nextInt(max - min) + min;
-    }
-
-    /**
-     * Generate a random boolean value.
-     *
-     * @return A random boolean value.
-     */
-    public static boolean randomBool() {
-        return (randomInt(2) == 1);
-    }
 }
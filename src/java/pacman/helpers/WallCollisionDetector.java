@@ -1,16 +1,22 @@
 package pacman.helpers;
 
-import java.awt.*;
-
 import pacman.entities.Entity;
-import pacman.entities.GhostHouseEntity;
-import pacman.entities.WallEntity;
-import pacman.game.GameSession;
 
 /**
  * Class to detect collisions with walls in the game.
+ * Queries are answered by the collision map of the level, only looking up the cells covered by the moved entity.
  */
 public class WallCollisionDetector {
+    private final CollisionMap collisionMap;
+
+    /**
+     * Constructor to initialize the collision detector with the collision map of a level.
+     *
+     * @param collisionMap The collision map of the level.
+     */
+    public WallCollisionDetector(CollisionMap collisionMap) {
+        this.collisionMap = collisionMap;
+    }
 
     /**
      * Check for a collision between an entity and walls.
@@ -20,14 +26,8 @@ public class WallCollisionDetector {
      * @param dy The change in y position.
      * @return True if a collision is detected, false otherwise.
      */
-    public static boolean isCollision(Entity obj, int dx, int dy) {
-        Rectangle r = new Rectangle(obj.getxPos() + dx, obj.getyPos() + dy, obj.getSize(), obj.getSize());
-        for (WallEntity w : GameSession.getWallEntities()) {
-            if (w.getHitbox().intersects(r)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isCollision(Entity obj, int dx, int dy) {
+        return isCollision(obj, dx, dy, false);
     }
 
     /**
@@ -39,13 +39,9 @@ public class WallCollisionDetector {
      * @param ignoreGhostHouses Whether to ignore ghost houses in the collision check.
      * @return True if a collision is detected, false otherwise.
      */
-    public static boolean isCollision(Entity obj, int dx, int dy, boolean ignoreGhostHouses) {
-        Rectangle r = new Rectangle(obj.getxPos() + dx, obj.getyPos() + dy, obj.getSize(), obj.getSize());
-        for (WallEntity w : GameSession.getWallEntities()) {
-            if (!(ignoreGhostHouses && w instanceof GhostHouseEntity) && w.getHitbox().intersects(r)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean isCollision(Entity obj, int dx, int dy, boolean ignoreGhostHouses) {
+        int layerMask = ignoreGhostHouses ? CollisionMap.WALL_LAYER : CollisionMap.ALL_LAYERS;
+        return collisionMap.intersects(obj.getxPos() + dx, obj.getyPos() + dy, obj.getSize(), obj.getSize(),
+                layerMask);
     }
 }
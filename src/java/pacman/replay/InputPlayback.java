@@ -0,0 +1,76 @@
+package pacman.replay;
+
+import pacman.game.GameSession;
+import pacman.game.PlayerInput;
+import pacman.simulation.InputProvider;
+
+/**
+ * Class reading the player input of a recording back, tick by tick.
+ * Once the recording is exhausted, no direction is pressed.
+ */
+public class InputPlayback implements InputProvider {
+    private final byte[] runs;
+    private int position = 0;
+
+    // Input mask and remaining length of the run being played
+    private int runInput;
+    private int runLeft = 0;
+
+    /**
+     * Constructor to initialize the playback of encoded input runs.
+     *
+     * @param runs The encoded input runs.
+     */
+    InputPlayback(byte[] runs) {
+        this.runs = runs;
+    }
+
+    /**
+     * Check if recorded input is left.
+     *
+     * @return True if the recording has more ticks, false otherwise.
+     */
+    public boolean hasNext() {
+        return runLeft > 0 || position < runs.length;
+    }
+
+    /**
+     * Get the recorded input of the next tick.
+     *
+     * @return The player input mask, or PlayerInput.NONE once the recording is exhausted.
+     */
+    public int nextInput() {
+        if (runLeft == 0) {
+            if (position >= runs.length) {
+                return PlayerInput.NONE;
+            }
+            readRun();
+        }
+        runLeft--;
+        return runInput;
+    }
+
+    @Override
+    public int nextInput(GameSession session) {
+        return nextInput();
+    }
+
+    /**
+     * Decode the next run.
+     */
+    private void readRun() {
+        int header = runs[position++] & 0xFF;
+        runInput = header >>> 4;
+        int length = header & 0x0F;
+        if (length == InputRecording.LONG_RUN) {
+            int shift = 0;
+            int value;
+            do {
+                value = runs[position++] & 0xFF;
+                length += (value & 0x7F) << shift;
+                shift += 7;
+            } while ((value & 0x80) != 0);
+        }
+        runLeft = length + 1;
+    }
+}
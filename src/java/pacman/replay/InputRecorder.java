@@ -0,0 +1,91 @@
+package pacman.replay;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Class recording the player input of a game session tick by tick.
+ * Identical consecutive inputs are merged into a single run, see {@link InputRecording} for the format.
+ */
+public class InputRecorder {
+    private final ByteArrayOutputStream runs = new ByteArrayOutputStream();
+    private long seed;
+    private int levelHash;
+    private int tickCount;
+
+    // Input mask and length of the run being recorded
+    private int runInput;
+    private int runLength;
+
+    /**
+     * Constructor to initialize the recorder for a game session.
+     *
+     * @param seed The seed of the recorded game session.
+     * @param levelHash The checksum of the recorded level.
+     */
+    public InputRecorder(long seed, int levelHash) {
+        reset(seed, levelHash);
+    }
+
+    /**
+     * Discard the recorded input and start recording a new game session.
+     *
+     * @param seed The seed of the recorded game session.
+     * @param levelHash The checksum of the recorded level.
+     */
+    public void reset(long seed, int levelHash) {
+        this.seed = seed;
+        this.levelHash = levelHash;
+        runs.reset();
+        tickCount = 0;
+        runLength = 0;
+    }
+
+    /**
+     * Record the player input of a tick.
+     *
+     * @param input The player input mask, made of PlayerInput bits.
+     */
+    public void record(int input) {
+        if (runLength > 0 && input != runInput) {
+            encodeRun(runs, runInput, runLength);
+            runLength = 0;
+        }
+        runInput = input;
+        runLength++;
+        tickCount++;
+    }
+
+    /**
+     * Get the recording of the input recorded so far. The recorder can keep recording afterwards.
+     *
+     * @return The recording.
+     */
+    public InputRecording getRecording() {
+        byte[] written = runs.toByteArray();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(written.length + 8);
+        output.write(written, 0, written.length);
+        // The pending run is encoded in the copy only, it may still grow
+        if (runLength > 0) {
+            encodeRun(output, runInput, runLength);
+        }
+        return new InputRecording(seed, levelHash, tickCount, output.toByteArray());
+    }
+
+    /**
+     * Encode a run of identical inputs.
+     */
+    private static void encodeRun(ByteArrayOutputStream output, int input, int length) {
+        int extra = length - 1;
+        if (extra < InputRecording.LONG_RUN) {
+            output.write(input << 4 | extra);
+            return;
+        }
+        output.write(input << 4 | InputRecording.LONG_RUN);
+        extra -= InputRecording.LONG_RUN;
+        while (extra >= 0x80) {
+            output.write(extra & 0x7F | 0x80);
+            extra >>>= 7;
+        }
+        output.write(extra);
+    }
+}
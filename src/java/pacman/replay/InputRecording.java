@@ -0,0 +1,106 @@
+package pacman.replay;
+
+import java.io.*;
+
+/**
+ * Class representing a recorded game: the seed of the game session, the checksum of the level,
+ * and the player input of every tick.
+ * The input is stored as runs of identical 4-bit input masks. A run is one byte holding the mask
+ * in its high nibble and the run length minus one in its low nibble; a low nibble of 15 is followed
+ * by the rest of the length as a variable-length integer. Holding a direction for a second costs one or two bytes.
+ */
+public class InputRecording {
+    // "PMR1", identifies a recording file and its format version
+    private static final int MAGIC = 0x504D5231;
+
+    // Low nibble value announcing a variable-length run length
+    static final int LONG_RUN = 15;
+
+    private final long seed;
+    private final int levelHash;
+    private final int tickCount;
+    private final byte[] runs;
+
+    /**
+     * Constructor to initialize a recording.
+     *
+     * @param seed The seed of the recorded game session.
+     * @param levelHash The checksum of the recorded level.
+     * @param tickCount The number of recorded ticks.
+     * @param runs The encoded input runs.
+     */
+    public InputRecording(long seed, int levelHash, int tickCount, byte[] runs) {
+        this.seed = seed;
+        this.levelHash = levelHash;
+        this.tickCount = tickCount;
+        this.runs = runs;
+    }
+
+    /**
+     * Load a recording from a file.
+     *
+     * @param path The path of the recording file.
+     * @return The loaded recording.
+     * @throws IOException If the file cannot be read or is not a recording.
+     */
+    public static InputRecording load(String path) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not an input recording: " + path);
+            }
+            long seed = input.readLong();
+            int levelHash = input.readInt();
+            int tickCount = input.readInt();
+            byte[] runs = new byte[input.readInt()];
+            input.readFully(runs);
+            return new InputRecording(seed, levelHash, tickCount, runs);
+        }
+    }
+
+    /**
+     * Save the recording to a file.
+     *
+     * @param path The path of the recording file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(String path) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeLong(seed);
+            output.writeInt(levelHash);
+            output.writeInt(tickCount);
+            output.writeInt(runs.length);
+            output.write(runs);
+        }
+    }
+
+    /**
+     * Create a playback reading the recorded input from the first tick.
+     *
+     * @return The new playback.
+     */
+    public InputPlayback playback() {
+        return new InputPlayback(runs);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getLevelHash() {
+        return levelHash;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Get the size of the encoded input.
+     *
+     * @return The size of the input runs in bytes.
+     */
+    public int getEncodedSize() {
+        return runs.length;
+    }
+}
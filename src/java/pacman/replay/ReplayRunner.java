@@ -0,0 +1,62 @@
+package pacman.replay;
+
+import java.io.IOException;
+
+import pacman.game.GameSession;
+import pacman.game.Level;
+
+/**
+ * Class replaying a recording headless, as fast as possible.
+ * It prints the outcome of the game and the replay speed, so a recorded session can be used
+ * both to reproduce a bug and as a repeatable performance workload.
+ */
+public class ReplayRunner {
+
+    /**
+     * Replay a recording on a level.
+     *
+     * @param recording The recording to replay.
+     * @param level The level the recording was made on.
+     * @return The game session at the end of the replay.
+     */
+    public static GameSession replay(InputRecording recording, Level level) {
+        if (recording.getLevelHash() != level.getHash()) {
+            System.out.println("Warning: the recording was made on a different level, the replay will diverge");
+        }
+        GameSession session = new GameSession(level, recording.getSeed());
+        InputPlayback playback = recording.playback();
+        while (!session.isGameOver() && playback.hasNext()) {
+            session.step(playback.nextInput());
+        }
+        return session;
+    }
+
+    /**
+     * Replay a recording file.
+     * Arguments: path of the recording, optional path of the level and number of repetitions.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the recording cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: ReplayRunner <recording> [level] [repetitions]");
+            return;
+        }
+        InputRecording recording = InputRecording.load(args[0]);
+        Level level = Level.load(args.length > 1 ? args[1] : Level.DEFAULT_LEVEL_PATH);
+        int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        System.out.println("Recording: seed " + recording.getSeed() + ", " + recording.getTickCount() + " ticks, "
+                + recording.getEncodedSize() + " bytes of input");
+
+        for (int i = 0; i < repetitions; i++) {
+            long start = System.nanoTime();
+            GameSession session = replay(recording, level);
+            long elapsed = System.nanoTime() - start;
+            System.out.println(String.format("Replay %d: score %d, %d ticks, lives %d, %s, %.1f ms, %.0f ticks/s",
+                    i + 1, session.getScore(), session.getTickCount(), session.getLives(),
+                    session.isGameOver() ? (session.isWon() ? "won" : "lost") : "not over",
+                    elapsed / 1e6, session.getTickCount() / (elapsed / 1e9)));
+        }
+    }
+}
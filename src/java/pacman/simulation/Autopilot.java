@@ -0,0 +1,643 @@
+package pacman.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import pacman.entities.PacmanEntity;
+import pacman.game.GameSession;
+import pacman.game.Level;
+import pacman.game.PlayerInput;
+import pacman.game.WorldSnapshot;
+import pacman.helpers.GameRandom;
+import pacman.helpers.PathDistanceTable;
+import pacman.helpers.WallCollisionDetector;
+
+/**
+ * Class playing Pacman in place of the keyboard by searching ahead over forked copies of the game session.
+ * Whenever Pacman can turn, the state of the session is captured into a {@link WorldSnapshot} and restored into forked
+ * sessions of the same level, from which random rollouts are played for every open direction. The ghosts of a fork are
+ * moved by their own strategies and draw from the same random stream as the session, so a fork predicts them exactly
+ * for the moves Pacman plays. Directions are picked with UCB1 at the root of the search, a one-level Monte Carlo tree
+ * search; the game thread and the threads of a pool each run a worker searching its own fork, and their statistics
+ * are merged once the budget of the tick is spent. A rollout is rewarded for surviving, for the points it scores and,
+ * to find the Pac-Gums beyond the horizon of the rollouts, for the progress it makes toward the closest one. Pacman
+ * only keeps going without a search when it has no other way than ahead.
+ * When no surviving rollout scores, which happens once the last Pac-Gums are far away, the random rollouts only tell
+ * which directions are safe: Pacman then takes the safe direction closest to a Pac-Gum by maze distance. It also does
+ * so whenever it has eaten nothing for a while, so the game always ends.
+ * The budget of a tick is a hard limit: the workers stop at its deadline and drop the rollout in flight, and a pool
+ * worker that had not started by then is given up rather than waited for. Rollouts are shortened so that every open
+ * direction can be tried within the budget, from the measured cost of a rollout tick; a direction the budget still
+ * left untried is only taken by its distance to the closest Pac-Gum, when no tried direction is safe. The rollouts
+ * completed and the time spent searching are counted, for the frame profiler to report their rate.
+ */
+public class Autopilot implements InputProvider, AutoCloseable {
+    // Directions by index, the reverse of a direction is the index with the lowest bit flipped
+    private static final int[] DIRECTIONS = { PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT, PlayerInput.RIGHT };
+    private static final int[] DIRECTION_X = { 0, 0, -1, 1 };
+    private static final int[] DIRECTION_Y = { -1, 1, 0, 0 };
+
+    // Longest and shortest length of a rollout, 2 seconds and a quarter of a second of game
+    private static final int ROLLOUT_TICKS = 120;
+    private static final int MIN_ROLLOUT_TICKS = 15;
+
+    // Weight of the last search in the measured cost of a rollout tick
+    private static final double TICK_COST_SMOOTHING = 0.1;
+
+    // Exploration constant of UCB1
+    private static final double EXPLORATION = 1.4;
+
+    // Rewards of a rollout: a death scores below 0.25, surviving 0.5 plus up to 0.45 for the points scored and up to
+    // 0.05 for the progress made toward the closest Pac-Gum, relative to the distance a rollout can travel
+    private static final double DEATH_REWARD = 0.25;
+    private static final double SURVIVAL_REWARD = 0.5;
+    private static final double SCORE_REWARD = 0.45;
+    private static final int SCORE_SCALE = 500;
+    private static final double PROGRESS_REWARD = 0.05;
+
+    // Number of ticks without eating a Pac-Gum after which Pacman heads for the closest one, 10 seconds of game
+    private static final int STALL_TICKS = 600;
+
+    private final long budgetNanos;
+    // Threads of the workers after the first one, which the game thread runs, null with a single worker
+    private final ExecutorService pool;
+    private final List<Worker> workers;
+    private final Future<?>[] futures;
+
+    // State of the session the rollouts start from, written by the game thread and only read by the workers
+    private final WorldSnapshot root = new WorldSnapshot();
+
+    // Index of the direction held by the autopilot, -1 if none
+    private int direction = -1;
+
+    // Lives of Pacman at the last tick, a death releases the held direction
+    private int lastLives;
+
+    // Pac-Gums eaten when the last one was eaten, and the tick it was eaten at
+    private int lastPacGumsEaten;
+    private long lastPacGumTick;
+    private long ticksWithoutPacGum;
+
+    // Pac-Gums found on a ring of cells, for the distances computed by the game thread
+    private final int[] pacGums;
+
+    private final int[] visits = new int[DIRECTIONS.length];
+    private final double[] rewards = new double[DIRECTIONS.length];
+    private final double[] bestRewards = new double[DIRECTIONS.length];
+    private final int[] bestScores = new int[DIRECTIONS.length];
+
+    // Searches, rollouts and search time since the autopilot was created
+    private long searchCount;
+    private long rolloutCount;
+    private long searchNanos;
+
+    // Measured time a worker takes per rollout tick, in nanoseconds, from which rollouts are sized to the budget
+    private double tickNanos = 1000;
+
+    /**
+     * Constructor to initialize the autopilot and start its thread pool.
+     *
+     * @param level The level of the game sessions the autopilot plays.
+     * @param budgetMicros The time a tick may spend searching, in microseconds.
+     * @param threadCount The number of threads searching in parallel, each with its own forked session, the game
+     *                    thread being one of them.
+     */
+    public Autopilot(Level level, int budgetMicros, int threadCount) {
+        this.budgetNanos = budgetMicros * 1000L;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = threadCount == 1 ? null : Executors.newFixedThreadPool(threadCount - 1, runnable -> {
+            Thread thread = new Thread(runnable, "Autopilot-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.futures = new Future<?>[threadCount];
+        Worker[] forks = new Worker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            forks[i] = new Worker(new GameSession(level, i), new GameRandom(i + 1));
+        }
+        this.workers = List.of(forks);
+        this.pacGums = new int[getRingCapacity(level)];
+    }
+
+    /**
+     * Get the default number of search threads, the game thread included, leaving a core to the render thread.
+     *
+     * @return The number of threads.
+     */
+    public static int getDefaultThreadCount() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Assign ghost strategies to the forked sessions, to match the session played. Must be called before the first
+     * input is requested.
+     *
+     * @param combination The ghost strategies of the session played.
+     */
+    public void setGhostStrategies(StrategyCombination combination) {
+        for (Worker worker : workers) {
+            combination.apply(worker.fork);
+        }
+    }
+
+    @Override
+    public int nextInput(GameSession session) {
+        // A restarted game starts from tick 0 with nothing eaten
+        if (session.getPacGumsEaten() != lastPacGumsEaten || session.getTickCount() < lastPacGumTick) {
+            lastPacGumsEaten = session.getPacGumsEaten();
+            lastPacGumTick = session.getTickCount();
+        }
+        ticksWithoutPacGum = session.getTickCount() - lastPacGumTick;
+
+        int lives = session.getLives();
+        if (lives < lastLives) {
+            // Pacman ignores the directions held through a respawn until they are released
+            lastLives = lives;
+            direction = -1;
+            return PlayerInput.NONE;
+        }
+        lastLives = lives;
+
+        // Pacman only turns on the grid, in between it keeps the direction it has
+        PacmanEntity pacman = session.getPacmanEntity();
+        if (!pacman.isOnGrid() || !pacman.isInGameplayWindow()) {
+            return getInput();
+        }
+        int open = getOpenDirections(pacman, session.getWallCollisionDetector());
+        int moving = getMovingDirection(pacman);
+        if (open == 0 || (moving >= 0 && moving == direction && open == 1 << moving)) {
+            return getInput();
+        }
+        direction = search(session, open);
+        return getInput();
+    }
+
+    /**
+     * Search the best direction from the current state of a session within the budget of a tick.
+     *
+     * @param session The game session played.
+     * @param open The mask of the open directions, by index.
+     * @return The index of the chosen direction.
+     */
+    private int search(GameSession session, int open) {
+        long start = System.nanoTime();
+        root.capture(session);
+        PacmanEntity pacman = session.getPacmanEntity();
+        double startDistance = getPacGumDistance(session, pacman.getxPos(), pacman.getyPos(), Double.MAX_VALUE,
+                pacGums);
+        // Every worker tries every open direction, so each direction gets its share of the budget of a worker
+        double affordable = budgetNanos / (Integer.bitCount(open) * tickNanos);
+        int horizon = (int) Math.max(MIN_ROLLOUT_TICKS, Math.min(ROLLOUT_TICKS, affordable));
+        for (int i = 0; i < workers.size(); i++) {
+            Worker worker = workers.get(i);
+            worker.prepare(searchCount, start + budgetNanos, open, horizon, startDistance);
+            if (i > 0) {
+                long search = searchCount;
+                futures[i] = pool.submit(() -> worker.run(search));
+            }
+        }
+        workers.get(0).run(searchCount);
+        Arrays.fill(visits, 0);
+        Arrays.fill(rewards, 0);
+        Arrays.fill(bestRewards, 0);
+        Arrays.fill(bestScores, 0);
+        int rollouts = 0;
+        try {
+            // A worker that started stops within a rollout tick of the deadline, one that did not is given up
+            for (int i = 1; i < workers.size(); i++) {
+                if (!workers.get(i).giveUp(searchCount)) {
+                    futures[i].get();
+                }
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            return Integer.numberOfTrailingZeros(open);
+        } catch (ExecutionException executionException) {
+            throw new IllegalStateException("The autopilot search failed", executionException.getCause());
+        }
+        long workerTicks = 0;
+        long workerNanos = 0;
+        for (Worker worker : workers) {
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                visits[i] += worker.visits[i];
+                rewards[i] += worker.rewards[i];
+                bestRewards[i] = Math.max(bestRewards[i], worker.bestRewards[i]);
+                bestScores[i] = Math.max(bestScores[i], worker.bestScores[i]);
+            }
+            rollouts += worker.rollouts;
+            workerTicks += worker.ticks;
+            workerNanos += worker.nanos;
+        }
+        if (workerTicks > 0) {
+            tickNanos += (workerNanos / (double) workerTicks - tickNanos) * TICK_COST_SMOOTHING;
+        }
+
+        // The game is deterministic for a given Pacman, so a direction is worth the best rollout found from it; the
+        // mean reward breaks the ties
+        int best = Integer.numberOfTrailingZeros(open);
+        double bestReward = -1;
+        double bestMean = -1;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            if (visits[i] == 0) {
+                continue;
+            }
+            double mean = rewards[i] / visits[i];
+            if (bestRewards[i] > bestReward || (bestRewards[i] == bestReward && mean > bestMean)) {
+                best = i;
+                bestReward = bestRewards[i];
+                bestMean = mean;
+            }
+        }
+
+        // Without a surviving rollout that scores, or after a stall, Pacman heads for the closest Pac-Gum by a safe way
+        int tried = 0;
+        int safe = 0;
+        boolean scored = false;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            if (visits[i] > 0) {
+                tried |= 1 << i;
+                if (bestRewards[i] >= SURVIVAL_REWARD) {
+                    safe |= 1 << i;
+                    scored |= bestScores[i] > 0;
+                }
+            }
+        }
+        int untried = open & ~tried;
+        if (safe == 0 && untried != 0) {
+            best = getClosestDirection(session, untried);
+        } else if (safe != 0 && (!scored || ticksWithoutPacGum >= STALL_TICKS)) {
+            best = getClosestDirection(session, safe);
+        }
+
+        long end = System.nanoTime();
+        searchCount++;
+        rolloutCount += rollouts;
+        searchNanos += end - start;
+        return best;
+    }
+
+    private int getInput() {
+        return direction < 0 ? PlayerInput.NONE : DIRECTIONS[direction];
+    }
+
+    /**
+     * Get the direction among some directions whose next cell is closest to a Pac-Gum by maze distance.
+     */
+    private int getClosestDirection(GameSession session, int directions) {
+        PacmanEntity pacman = session.getPacmanEntity();
+        int closest = Integer.numberOfTrailingZeros(directions);
+        double closestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            if ((directions & 1 << i) != 0) {
+                double distance = getPacGumDistance(session, pacman.getxPos() + DIRECTION_X[i] * Level.CELL_DIMENSION,
+                        pacman.getyPos() + DIRECTION_Y[i] * Level.CELL_DIMENSION, Double.MAX_VALUE, pacGums);
+                if (distance < closestDistance) {
+                    closest = i;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Get the maze distance from a position of Pacman to the closest Pac-Gum left, in pixels. A Pac-Gum is eaten by the
+     * center of Pacman, from the position one cell above and to the left of its own cell.
+     * The rings of cells around Pacman are searched outward, and a Pac-Gum of a ring is more cells away by any way than
+     * the ring before it, tunnels aside, so the search stops at the first ring beyond the closest distance found. Its
+     * cost grows with that distance and not with the size of the level.
+     *
+     * @param session The game session.
+     * @param x X position of Pacman.
+     * @param y Y position of Pacman.
+     * @param maxDistance The distance beyond which Pac-Gums are not searched.
+     * @param pacGums A buffer receiving the Pac-Gums of a ring, of {@link #getRingCapacity(Level)} ints.
+     * @return The distance, or maxDistance if no Pac-Gum is closer.
+     */
+    private static double getPacGumDistance(GameSession session, int x, int y, double maxDistance, int[] pacGums) {
+        Level level = session.getLevel();
+        PathDistanceTable distanceTable = level.getDistanceTable(false);
+        int cellX = Math.floorDiv(x, Level.CELL_DIMENSION) + 1;
+        int cellY = Math.floorDiv(y, Level.CELL_DIMENSION) + 1;
+        int maxRing = Math.max(level.getWidth(), level.getHeight());
+        double closest = maxDistance;
+        for (int ring = 0; ring <= maxRing && (ring - 1) * Level.CELL_DIMENSION < closest; ring++) {
+            int count = session.getPelletField().findPacGums(cellX, cellY, ring, pacGums);
+            for (int i = 0; i < count; i++) {
+                int targetX = (pacGums[i] % level.getWidth() - 1) * Level.CELL_DIMENSION;
+                int targetY = (pacGums[i] / level.getWidth() - 1) * Level.CELL_DIMENSION;
+                closest = Math.min(closest, distanceTable.getDistance(x, y, targetX, targetY));
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Get the number of cells of the largest ring of cells searched for Pac-Gums in a level.
+     */
+    private static int getRingCapacity(Level level) {
+        return 8 * Math.max(level.getWidth(), level.getHeight());
+    }
+
+    /**
+     * Get the mask of the directions Pacman can move to without running into a wall, by index.
+     */
+    private static int getOpenDirections(PacmanEntity pacman, WallCollisionDetector wallCollisionDetector) {
+        int speed = pacman.getEntitySpeed();
+        int open = 0;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            if (!wallCollisionDetector.isCollision(pacman, DIRECTION_X[i] * speed, DIRECTION_Y[i] * speed)) {
+                open |= 1 << i;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Get the index of the direction Pacman is moving in, -1 if it stands still.
+     */
+    private static int getMovingDirection(PacmanEntity pacman) {
+        if (pacman.getxSpeed() != 0) {
+            return pacman.getxSpeed() < 0 ? 2 : 3;
+        }
+        if (pacman.getySpeed() != 0) {
+            return pacman.getySpeed() < 0 ? 0 : 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the number of ticks since Pacman last ate a Pac-Gum, or since the game started, as of the last input.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicksWithoutPacGum() {
+        return ticksWithoutPacGum;
+    }
+
+    /**
+     * Get the number of searches run since the autopilot was created.
+     *
+     * @return The number of searches.
+     */
+    public long getSearchCount() {
+        return searchCount;
+    }
+
+    /**
+     * Get the number of rollouts completed since the autopilot was created.
+     *
+     * @return The number of rollouts.
+     */
+    public long getRolloutCount() {
+        return rolloutCount;
+    }
+
+    /**
+     * Get the time spent searching since the autopilot was created.
+     *
+     * @return The search time in nanoseconds.
+     */
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    /**
+     * Stop the search threads.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Class searching from the root state over its own forked session, keeping its own statistics per direction.
+     */
+    private final class Worker {
+        private final GameSession fork;
+        private final GameRandom random;
+        private final int[] pacGums;
+        private final int[] visits = new int[DIRECTIONS.length];
+        private final double[] rewards = new double[DIRECTIONS.length];
+        private final double[] bestRewards = new double[DIRECTIONS.length];
+        private final int[] bestScores = new int[DIRECTIONS.length];
+        private int rollouts;
+
+        // Ticks played by the rollouts of the last search, the dropped one included, and the time they took
+        private long ticks;
+        private long nanos;
+
+        // Search the worker may run, claimed by the worker when it starts it or by the game thread when the worker
+        // has not started it by the deadline, -1 once claimed
+        private final AtomicLong ready = new AtomicLong(-1);
+
+        private long deadline;
+        private int open;
+        private int horizon;
+        private double startDistance;
+
+        // Points scored by the last rollout if Pacman survived it, 0 otherwise
+        private int rolloutScore;
+
+        Worker(GameSession fork, GameRandom random) {
+            this.fork = fork;
+            this.random = random;
+            this.pacGums = new int[getRingCapacity(fork.getLevel())];
+            fork.setLogging(false);
+        }
+
+        /**
+         * Prepare a search, clearing the statistics of the last one so a search given up adds nothing.
+         */
+        void prepare(long search, long deadline, int open, int horizon, double startDistance) {
+            this.deadline = deadline;
+            this.open = open;
+            this.horizon = horizon;
+            this.startDistance = startDistance;
+            Arrays.fill(visits, 0);
+            Arrays.fill(rewards, 0);
+            Arrays.fill(bestRewards, 0);
+            Arrays.fill(bestScores, 0);
+            rollouts = 0;
+            ticks = 0;
+            nanos = 0;
+            ready.set(search);
+        }
+
+        /**
+         * Run a prepared search, unless it was given up or a later search was prepared.
+         */
+        void run(long search) {
+            if (ready.compareAndSet(search, -1)) {
+                play();
+            }
+        }
+
+        /**
+         * Give up a prepared search if the worker has not started it.
+         *
+         * @return True if the search was given up, false if the worker started it.
+         */
+        boolean giveUp(long search) {
+            return ready.compareAndSet(search, -1);
+        }
+
+        /**
+         * Play rollouts until the deadline, dropping the one in flight when it is reached.
+         */
+        private void play() {
+            long start = System.nanoTime();
+            while (System.nanoTime() - deadline < 0) {
+                int action = select();
+                double reward = rollout(action);
+                if (Double.isNaN(reward)) {
+                    break;
+                }
+                rewards[action] += reward;
+                bestRewards[action] = Math.max(bestRewards[action], reward);
+                bestScores[action] = Math.max(bestScores[action], rolloutScore);
+                visits[action]++;
+                rollouts++;
+            }
+            nanos = System.nanoTime() - start;
+        }
+
+        /**
+         * Pick the open direction to play next with UCB1, every direction being tried once first.
+         */
+        private int select() {
+            int total = 0;
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                if ((open & 1 << i) != 0) {
+                    if (visits[i] == 0) {
+                        return i;
+                    }
+                    total += visits[i];
+                }
+            }
+            double logTotal = Math.log(total);
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                if ((open & 1 << i) != 0) {
+                    double value = rewards[i] / visits[i] + EXPLORATION * Math.sqrt(logTotal / visits[i]);
+                    if (value > bestValue) {
+                        best = i;
+                        bestValue = value;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Play a rollout from the root state, starting in a direction and then turning at random at the junctions
+         * without turning back, until Pacman dies, the game ends or the rollout is over.
+         *
+         * @return The reward of the rollout, between 0 and 1, or NaN if the deadline was reached first.
+         */
+        private double rollout(int action) {
+            root.restore(fork);
+            PacmanEntity pacman = fork.getPacmanEntity();
+            int startScore = fork.getScore();
+            int startLives = fork.getLives();
+            int heldDirection = action;
+            rolloutScore = 0;
+            for (int tick = 0; tick < horizon; tick++) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return Double.NaN;
+                }
+                if (tick > 0 && pacman.isOnGrid() && pacman.isInGameplayWindow()) {
+                    heldDirection = pickDirection(pacman, heldDirection);
+                }
+                fork.step(DIRECTIONS[heldDirection]);
+                ticks++;
+                if (fork.getLives() < startLives) {
+                    return DEATH_REWARD * tick / horizon;
+                }
+                if (fork.isGameOver()) {
+                    rolloutScore = fork.isWon() ? fork.getScore() - startScore : 0;
+                    return fork.isWon() ? 1 : 0;
+                }
+            }
+            rolloutScore = fork.getScore() - startScore;
+            // Progress toward the closest Pac-Gum, from -1 when running away at full speed to 1 when running to it
+            double reach = horizon * pacman.getEntitySpeed();
+            // Past the reach of the rollout beyond the start distance, the progress is -1 whatever the distance
+            double endDistance = getPacGumDistance(fork, pacman.getxPos(), pacman.getyPos(), startDistance + reach,
+                    pacGums);
+            double progress = Math.max(-1, Math.min(1, (startDistance - endDistance) / reach));
+            return SURVIVAL_REWARD + SCORE_REWARD * Math.min(1.0, rolloutScore / (double) SCORE_SCALE)
+                    + PROGRESS_REWARD * (1 + progress) / 2;
+        }
+
+        private int pickDirection(PacmanEntity pacman, int heldDirection) {
+            int candidates = getOpenDirections(pacman, fork.getWallCollisionDetector());
+            int forward = candidates & ~(1 << (heldDirection ^ 1));
+            if (forward != 0) {
+                candidates = forward;
+            }
+            if (candidates == 0) {
+                return heldDirection;
+            }
+            int pick = random.nextInt(Integer.bitCount(candidates));
+            for (int i = 0; i < DIRECTIONS.length; i++) {
+                if ((candidates & 1 << i) != 0 && pick-- == 0) {
+                    return i;
+                }
+            }
+            return heldDirection;
+        }
+    }
+
+    /**
+     * Play headless games with the autopilot, for soak tests.
+     * Arguments: search budget per tick in microseconds, number of threads, number of games, first seed, maximum
+     * ticks per game.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int budgetMicros = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : getDefaultThreadCount();
+        int gameCount = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long firstSeed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        long maxTicks = args.length > 4 ? Long.parseLong(args[4]) : 20000;
+
+        Level level = Level.load(Level.DEFAULT_LEVEL_PATH);
+        StrategyCombination combination = new StrategyCombination(GhostStrategyKind.RED, GhostStrategyKind.PINK,
+                GhostStrategyKind.BLUE, GhostStrategyKind.YELLOW);
+        GameResult[] results = new GameResult[gameCount];
+        long start = System.nanoTime();
+        try (Autopilot autopilot = new Autopilot(level, budgetMicros, threadCount)) {
+            autopilot.setGhostStrategies(combination);
+            for (int game = 0; game < gameCount; game++) {
+                long seed = firstSeed + game;
+                GameSession session = new GameSession(level, seed);
+                session.setLogging(false);
+                combination.apply(session);
+                while (!session.isGameOver() && session.getTickCount() < maxTicks) {
+                    session.step(autopilot.nextInput(session));
+                }
+                results[game] = new GameResult(seed, session.getScore(), session.getTickCount(),
+                        session.getPacGumsEaten(), session.getCatchCount(), session.isWon());
+                System.out.println(String.format("Game %d: score %d, %d ticks, %d Pac-Gums, %d catches, %s", seed,
+                        session.getScore(), session.getTickCount(), session.getPacGumsEaten(),
+                        session.getCatchCount(), session.isWon() ? "won" : "lost"));
+            }
+            long elapsed = System.nanoTime() - start;
+            BatchRunner.printSummary(combination, results, elapsed);
+            System.out.println(String.format("Autopilot: %d rollouts over %d searches, %.0f rollouts/s, %d threads",
+                    autopilot.getRolloutCount(), autopilot.getSearchCount(),
+                    autopilot.getRolloutCount() / (elapsed / 1e9), threadCount));
+        }
+    }
+}
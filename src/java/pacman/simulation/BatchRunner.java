@@ -0,0 +1,170 @@
+package pacman.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import pacman.game.GameSession;
+import pacman.game.Level;
+import pacman.helpers.GameRandom;
+
+/**
+ * Class running many headless games in parallel to compare ghost strategies.
+ * Every game is an independent game session sharing the same immutable level, games are split
+ * across the workers of a fork/join pool. The results are stored by seed index, so a batch always
+ * produces the same results in the same order whatever the number of workers.
+ */
+public class BatchRunner {
+    // Number of games below which a task stops splitting and plays its games itself
+    private static final int GAMES_PER_TASK = 4;
+
+    private final Level level;
+    private final ForkJoinPool pool;
+    private final long maxTicks;
+
+    /**
+     * Constructor to initialize the batch runner.
+     *
+     * @param level The level every game is played on.
+     * @param pool The fork/join pool running the games.
+     * @param maxTicks The number of ticks after which a game is stopped if it is not over.
+     */
+    public BatchRunner(Level level, ForkJoinPool pool, long maxTicks) {
+        this.level = level;
+        this.pool = pool;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * Play a batch of games with consecutive seeds.
+     *
+     * @param combination The ghost strategies used in every game.
+     * @param firstSeed The seed of the first game.
+     * @param gameCount The number of games to play.
+     * @return The results of the games, indexed by seed offset.
+     */
+    public GameResult[] run(StrategyCombination combination, long firstSeed, int gameCount) {
+        GameResult[] results = new GameResult[gameCount];
+        pool.invoke(new GameTask(this, combination, firstSeed, results, 0, gameCount));
+        return results;
+    }
+
+    /**
+     * Play a single headless game.
+     * The game session and the player input draw from two independent streams split from the seed.
+     *
+     * @param combination The ghost strategies used in the game.
+     * @param seed The seed of the game.
+     * @return The result of the game.
+     */
+    public GameResult play(StrategyCombination combination, long seed) {
+        GameRandom streams = new GameRandom(seed);
+        GameSession session = new GameSession(level, streams.nextLong());
+        combination.apply(session);
+        InputProvider input = new RandomInput(streams.split());
+        session.setFirstUserInput(true);
+        while (!session.isGameOver() && session.getTickCount() < maxTicks) {
+            session.step(input.nextInput(session));
+        }
+        return new GameResult(seed, session.getScore(), session.getTickCount(), session.getPacGumsEaten(),
+                session.getCatchCount(), session.isWon());
+    }
+
+    /**
+     * Fork/join task playing the games of a range of seed indexes.
+     */
+    @SuppressWarnings("serial")
+    private static final class GameTask extends RecursiveAction {
+        private final BatchRunner runner;
+        private final StrategyCombination combination;
+        private final long firstSeed;
+        private final GameResult[] results;
+        private final int from;
+        private final int to;
+
+        GameTask(BatchRunner runner, StrategyCombination combination, long firstSeed, GameResult[] results, int from,
+                 int to) {
+            this.runner = runner;
+            this.combination = combination;
+            this.firstSeed = firstSeed;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    results[i] = runner.play(combination, firstSeed + i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new GameTask(runner, combination, firstSeed, results, from, middle),
+                    new GameTask(runner, combination, firstSeed, results, middle, to));
+        }
+    }
+
+    /**
+     * Print the aggregated statistics of a batch of games.
+     *
+     * @param combination The ghost strategies used in the games.
+     * @param results The results of the games.
+     * @param elapsedNanos The time taken by the batch in nanoseconds.
+     */
+    public static void printSummary(StrategyCombination combination, GameResult[] results, long elapsedNanos) {
+        double score = 0;
+        double ticks = 0;
+        double pacGums = 0;
+        double catches = 0;
+        int wins = 0;
+        for (GameResult result : results) {
+            score += result.getScore();
+            ticks += result.getSurvivalTicks();
+            pacGums += result.getPacGumsEaten();
+            catches += result.getCatchCount();
+            if (result.isWon()) {
+                wins++;
+            }
+        }
+        int count = results.length;
+        System.out.println(String.format(
+                "%-24s games: %d, mean score: %.1f, mean survival: %.0f ticks, mean Pac-Gums: %.1f, "
+                        + "mean catches: %.2f, wins: %d, %.1f games/s",
+                combination, count, score / count, ticks / count, pacGums / count, catches / count, wins,
+                count / (elapsedNanos / 1e9)));
+    }
+
+    /**
+     * Run a batch for the default ghost strategies and for every ghost using the same strategy.
+     * Arguments: number of games per combination, first seed, maximum ticks per game.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        long maxTicks = args.length > 2 ? Long.parseLong(args[2]) : 20000;
+
+        Level level = Level.load(Level.DEFAULT_LEVEL_PATH);
+        BatchRunner runner = new BatchRunner(level, ForkJoinPool.commonPool(), maxTicks);
+
+        StrategyCombination[] combinations = {
+                new StrategyCombination(GhostStrategyKind.RED, GhostStrategyKind.PINK, GhostStrategyKind.BLUE,
+                        GhostStrategyKind.YELLOW),
+                uniform(GhostStrategyKind.RED),
+                uniform(GhostStrategyKind.PINK),
+                uniform(GhostStrategyKind.BLUE),
+                uniform(GhostStrategyKind.YELLOW),
+        };
+        for (StrategyCombination combination : combinations) {
+            long start = System.nanoTime();
+            GameResult[] results = runner.run(combination, firstSeed, gameCount);
+            printSummary(combination, results, System.nanoTime() - start);
+        }
+    }
+
+    private static StrategyCombination uniform(GhostStrategyKind kind) {
+        return new StrategyCombination(kind, kind, kind, kind);
+    }
+}
@@ -0,0 +1,56 @@
+package pacman.simulation;
+
+/**
+ * Class holding the outcome of a headless game.
+ */
+public class GameResult {
+    private final long seed;
+    private final int score;
+    private final long survivalTicks;
+    private final int pacGumsEaten;
+    private final int catchCount;
+    private final boolean won;
+
+    /**
+     * Constructor to initialize a game result.
+     *
+     * @param seed The seed the game was played with.
+     * @param score The final score.
+     * @param survivalTicks The number of ticks played.
+     * @param pacGumsEaten The number of Pac-Gums eaten.
+     * @param catchCount The number of times Pacman was caught by a ghost.
+     * @param won True if every Pac-Gum was eaten, false otherwise.
+     */
+    public GameResult(long seed, int score, long survivalTicks, int pacGumsEaten, int catchCount, boolean won) {
+        this.seed = seed;
+        this.score = score;
+        this.survivalTicks = survivalTicks;
+        this.pacGumsEaten = pacGumsEaten;
+        this.catchCount = catchCount;
+        this.won = won;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getSurvivalTicks() {
+        return survivalTicks;
+    }
+
+    public int getPacGumsEaten() {
+        return pacGumsEaten;
+    }
+
+    public int getCatchCount() {
+        return catchCount;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+}
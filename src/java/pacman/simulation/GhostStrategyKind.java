@@ -0,0 +1,35 @@
+package pacman.simulation;
+
+import pacman.game.GameSession;
+import pacman.ghosts.Ghost;
+import pacman.ghosts.ghostStrategies.*;
+
+/**
+ * Enum of the ghost strategies that can be assigned to a ghost in a headless game.
+ */
+public enum GhostStrategyKind {
+    RED,
+    PINK,
+    BLUE,
+    YELLOW;
+
+    /**
+     * Create the strategy for a ghost of a game session.
+     *
+     * @param session The game session the ghost belongs to.
+     * @param ghost The ghost the strategy is created for.
+     * @return The created strategy.
+     */
+    public GhostStrategy create(GameSession session, Ghost ghost) {
+        switch (this) {
+            case PINK:
+                return new PinkGhostStrategy(session);
+            case BLUE:
+                return new BlueGhostStrategy(session, session.getRedGhostEntity());
+            case YELLOW:
+                return new YellowGhostStrategy(ghost);
+            default:
+                return new RedGhostStrategy(session);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package pacman.simulation;
+
+import pacman.game.GameSession;
+
+/**
+ * Interface representing a source of player input for headless games.
+ */
+public interface InputProvider {
+
+    /**
+     * Get the player input for the next tick of a game session.
+     *
+     * @param session The game session about to be advanced.
+     * @return The player input mask, made of PlayerInput bits.
+     */
+    int nextInput(GameSession session);
+}
@@ -0,0 +1,36 @@
+package pacman.simulation;
+
+import pacman.game.GameSession;
+import pacman.game.PlayerInput;
+import pacman.helpers.GameRandom;
+
+/**
+ * Class providing random player input, holding each direction for a random number of ticks.
+ * The same random stream always produces the same input sequence.
+ */
+public class RandomInput implements InputProvider {
+    private static final int[] DIRECTIONS = { PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT, PlayerInput.RIGHT };
+
+    private final GameRandom random;
+    private int direction = PlayerInput.NONE;
+    private int ticksLeft = 0;
+
+    /**
+     * Constructor to initialize the random input.
+     *
+     * @param random The random stream the input is drawn from.
+     */
+    public RandomInput(GameRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public int nextInput(GameSession session) {
+        if (ticksLeft <= 0) {
+            direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            ticksLeft = random.nextInt(8, 64);
+        }
+        ticksLeft--;
+        return direction;
+    }
+}
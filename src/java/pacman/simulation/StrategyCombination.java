@@ -0,0 +1,47 @@
+package pacman.simulation;
+
+import java.util.List;
+
+import pacman.game.GameSession;
+import pacman.ghosts.Ghost;
+
+/**
+ * Class representing the strategies assigned to the ghosts of a game, in the order the ghosts are created.
+ */
+public class StrategyCombination {
+    private final GhostStrategyKind[] kinds;
+
+    /**
+     * Constructor to initialize a strategy combination.
+     *
+     * @param kinds The strategy of every ghost, in the order the ghosts are created.
+     */
+    public StrategyCombination(GhostStrategyKind... kinds) {
+        this.kinds = kinds.clone();
+    }
+
+    /**
+     * Assign the strategies to the ghosts of a game session.
+     * Ghosts beyond the combination keep the strategy set by their factory.
+     *
+     * @param session The game session to configure.
+     */
+    public void apply(GameSession session) {
+        List<Ghost> ghosts = session.getGhostEntities();
+        for (int i = 0; i < ghosts.size() && i < kinds.length; i++) {
+            ghosts.get(i).setStrategy(kinds[i].create(session, ghosts.get(i)));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (GhostStrategyKind kind : kinds) {
+            if (builder.length() > 0) {
+                builder.append('/');
+            }
+            builder.append(kind);
+        }
+        return builder.toString();
+    }
+}